@@ -0,0 +1,70 @@
+package in.agampal.dishdashapi.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with a stored baseline and exits non-zero if any benchmark regressed
+ * by more than the threshold, or if there is no baseline. Throughput modes regress when the score drops,
+ * time modes when it rises. To accept new numbers, run with {@code -Djmh.update-baseline=true}, which
+ * copies target/jmh-result.json over src/jmh/baseline.json; record it on the machine that runs the comparison.
+ */
+public class BaselineComparator {
+
+    private record Score(String mode, double value, String unit) {}
+
+    public static void main(String[] args) throws IOException {
+        File results = new File(args[0]);
+        File baseline = new File(args[1]);
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+        boolean update = args.length > 3 && Boolean.parseBoolean(args[3]);
+
+        if (update) {
+            Files.copy(results.toPath(), baseline.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline " + baseline + " updated from " + results);
+            return;
+        }
+        if (!baseline.exists()) {
+            System.out.println("No baseline at " + baseline + "; run with -Djmh.update-baseline=true to record one.");
+            System.exit(1);
+        }
+        Map<String, Score> current = read(results);
+        Map<String, Score> previous = read(baseline);
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score before = previous.get(entry.getKey());
+            Score now = entry.getValue();
+            if (before == null || !before.mode().equals(now.mode()) || !before.unit().equals(now.unit())) {
+                System.out.printf("NEW        %-70s %12.3f %s%n", entry.getKey(), now.value(), now.unit());
+                continue;
+            }
+            double change = (now.value() - before.value()) / before.value();
+            boolean regressed = "thrpt".equals(now.mode()) ? change < -threshold : change > threshold;
+            regressions += regressed ? 1 : 0;
+            System.out.printf("%-10s %-70s %12.3f -> %12.3f %s (%+.1f%%)%n", regressed ? "REGRESSED" : "ok",
+                    entry.getKey(), before.value(), now.value(), now.unit(), change * 100);
+        }
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, threshold * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            String key = run.path("benchmark").asText() + " threads=" + run.path("threads").asInt();
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key, new Score(run.path("mode").asText(), metric.path("score").asDouble(), metric.path("scoreUnit").asText()));
+        }
+        return scores;
+    }
+}
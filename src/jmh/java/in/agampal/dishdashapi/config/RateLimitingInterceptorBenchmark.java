@@ -0,0 +1,77 @@
+package in.agampal.dishdashapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * preHandle with 8 threads: all on one client key (CAS contention on a single window) and each on its own.
+ * The admitting limiter allows the counter's maximum per 1 ms window, far above what 8 threads reach, so
+ * those cases stay on the admit path; {@code rejected} measures the 429 path on its own.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(8)
+public class RateLimitingInterceptorBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Limiter {
+        RateLimitingInterceptor admitting;
+        RateLimitingInterceptor rejecting;
+        final AtomicInteger clients = new AtomicInteger();
+
+        @Setup
+        public void setUp() {
+            ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+            admitting = new RateLimitingInterceptor(new SlidingWindowRateLimiter(65_534, 1, 100_000), true, objectMapper);
+            rejecting = new RateLimitingInterceptor(new SlidingWindowRateLimiter(1, 60_000, 100_000), true, objectMapper);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Requests {
+        MockHttpServletRequest shared;
+        MockHttpServletRequest own;
+
+        @Setup
+        public void setUp(Limiter limiter) {
+            shared = request("203.0.113.10");
+            own = request("198.51.100." + limiter.clients.incrementAndGet());
+        }
+
+        private static MockHttpServletRequest request(String clientIp) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/foods/42");
+            request.addHeader("X-Forwarded-For", clientIp);
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/foods/{id}");
+            return request;
+        }
+    }
+
+    @Benchmark
+    public boolean sameClient(Limiter limiter, Requests requests) throws Exception {
+        return limiter.admitting.preHandle(requests.shared, new MockHttpServletResponse(), null);
+    }
+
+    @Benchmark
+    public boolean distinctClients(Limiter limiter, Requests requests) throws Exception {
+        return limiter.admitting.preHandle(requests.own, new MockHttpServletResponse(), null);
+    }
+
+    @Benchmark
+    public boolean rejected(Limiter limiter, Requests requests) throws Exception {
+        return limiter.rejecting.preHandle(requests.shared, new MockHttpServletResponse(), null);
+    }
+}
@@ -0,0 +1,48 @@
+package in.agampal.dishdashapi.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.agampal.dishdashapi.io.FoodResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ApiResponseSerializationBenchmark {
+
+    // Configured the way Spring MVC configures its message converter
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private ApiResponse<List<FoodResponse>> menu;
+    private ApiResponse<Object> error;
+
+    @Setup
+    public void setUp() {
+        List<FoodResponse> foods = IntStream.range(0, 20)
+                .mapToObj(i -> FoodResponse.builder().id("food-" + i).name("Dish " + i)
+                        .description("A reasonably long description for dish number " + i)
+                        .imageUrl("https://bucket.s3.amazonaws.com/" + i + ".png").price(99.5 + i).category("Mains").build())
+                .toList();
+        menu = ApiResponse.success(foods);
+        error = ApiResponse.error("Rate limit exceeded. Please try again later.", "RATE_LIMIT_EXCEEDED");
+    }
+
+    @Benchmark
+    public byte[] menuPage() throws Exception {
+        return objectMapper.writeValueAsBytes(menu);
+    }
+
+    @Benchmark
+    public byte[] errorBody() throws Exception {
+        return objectMapper.writeValueAsBytes(error);
+    }
+}
@@ -0,0 +1,54 @@
+package in.agampal.dishdashapi.service;
+
+import in.agampal.dishdashapi.entity.FoodEntity;
+import in.agampal.dishdashapi.entity.OrderEntity;
+import in.agampal.dishdashapi.entity.OrderStatus;
+import in.agampal.dishdashapi.io.FoodResponse;
+import in.agampal.dishdashapi.io.OrderItem;
+import in.agampal.dishdashapi.io.OrderResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseMappingBenchmark {
+
+    private FoodEntity food;
+    private OrderEntity order;
+
+    @Setup
+    public void setUp() {
+        food = FoodEntity.builder().id("65f1c2a9e4b0a1b2c3d4e5f6").name("Paneer Tikka")
+                .description("Char-grilled cottage cheese").category("Starters").price(249.0)
+                .imageUrl("https://bucket.s3.amazonaws.com/paneer.png").build();
+        List<OrderItem> items = IntStream.range(0, 5)
+                .mapToObj(i -> OrderItem.builder().foodId("food-" + i).name("Dish " + i).quantity(2).price(199.0)
+                        .category("Mains").imageUrl("https://bucket.s3.amazonaws.com/" + i + ".png").build())
+                .toList();
+        order = OrderEntity.builder().id("65f1c2a9e4b0a1b2c3d4e5f7").userId("65f1c2a9e4b0a1b2c3d4e5f8")
+                .userAddress("12 MG Road, Bengaluru").phoneNumber("9999999999").email("diner@example.com")
+                .orderedItems(items).amount(1990.0).paymentStatus("Paid").razorpayOrderId("order_N1x2y3z4")
+                .orderStatus(OrderStatus.initial().getLabel()).createdAt(Instant.now()).build();
+    }
+
+    @Benchmark
+    public FoodResponse foodToResponse() {
+        return FoodServiceImpl.convertToResponse(food);
+    }
+
+    @Benchmark
+    public OrderResponse orderToResponse() {
+        return OrderServiceImpl.convertToResponse(order);
+    }
+}
@@ -0,0 +1,7 @@
+package in.agampal.dishdashapi.cache;
+
+/**
+ * Tells other nodes to drop a near-cache entry. A {@code null} key means the whole cache.
+ */
+public record CacheInvalidation(String originNodeId, String cacheName, String key) {
+}
@@ -0,0 +1,24 @@
+package in.agampal.dishdashapi.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process broker. Every subscriber stands in for a node, so several cache managers sharing one
+ * instance behave like a cluster inside a single JVM.
+ */
+public class InMemoryCacheInvalidationBroker implements CacheInvalidationBroker {
+
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
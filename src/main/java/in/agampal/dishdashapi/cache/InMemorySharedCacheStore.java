@@ -0,0 +1,54 @@
+package in.agampal.dishdashapi.cache;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-JVM stand-in for the shared tier, used in tests and local runs.
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+    private record Entry(Object value, long expiresAtMillis) {
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @Override
+    public Object get(String cacheName, String key) {
+        Entry entry = entries.get(cacheName + "::" + key);
+        if (entry == null || entry.expiresAtMillis() < System.currentTimeMillis()) {
+            return null;
+        }
+        return entry.value();
+    }
+
+    @Override
+    public void put(String cacheName, String key, Object value, Duration ttl) {
+        entries.put(cacheName + "::" + key, new Entry(value, System.currentTimeMillis() + ttl.toMillis()));
+    }
+
+    @Override
+    public Object putIfAbsent(String cacheName, String key, Object value, Duration ttl) {
+        long now = System.currentTimeMillis();
+        boolean[] stored = new boolean[1];
+        Entry entry = entries.compute(cacheName + "::" + key, (k, current) -> {
+            if (current != null && current.expiresAtMillis() >= now) {
+                return current;
+            }
+            stored[0] = true;
+            return new Entry(value, now + ttl.toMillis());
+        });
+        return stored[0] ? null : entry.value();
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        entries.remove(cacheName + "::" + key);
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        String prefix = cacheName + "::";
+        entries.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+}
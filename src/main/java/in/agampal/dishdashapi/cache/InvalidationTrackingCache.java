@@ -0,0 +1,91 @@
+package in.agampal.dishdashapi.cache;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caffeine cache that counts evictions, so a value loaded from the database is only cached if nothing
+ * evicted its key while the load ran (see {@link #putIfUnchanged}). Counters are striped by key hash rather
+ * than kept per key: two keys sharing a stripe can only cause a skipped put, which the next read repairs.
+ */
+public class InvalidationTrackingCache extends CaffeineCache {
+
+    private static final int STRIPES = 1024;
+
+    private final AtomicLongArray evictions = new AtomicLongArray(STRIPES);
+    private final AtomicLong clears = new AtomicLong();
+
+    public InvalidationTrackingCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                                     boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    /**
+     * Changes whenever the key is evicted or the cache cleared; read it before loading the value.
+     */
+    public long generation(Object key) {
+        return clears.get() + evictions.get(stripe(key));
+    }
+
+    /**
+     * Caches a freshly loaded value unless the key was invalidated since {@code generation} was read.
+     */
+    public boolean putIfUnchanged(Object key, Object value, long generation) {
+        if (generation(key) != generation) {
+            return false;
+        }
+        putLoaded(key, value);
+        if (generation(key) != generation) {
+            // Evicted while this put ran; do not leave the old value behind
+            evict(key);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes a value read from the source of truth; it changes nothing other copies need to hear about.
+     */
+    protected void putLoaded(Object key, Object value) {
+        put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidated(key);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        invalidated(key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        cleared();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        cleared();
+        return super.invalidate();
+    }
+
+    protected final void invalidated(Object key) {
+        evictions.incrementAndGet(stripe(key));
+    }
+
+    protected final void cleared() {
+        clears.incrementAndGet();
+    }
+
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,15 @@
+package in.agampal.dishdashapi.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+/**
+ * Caffeine cache manager whose caches are {@link InvalidationTrackingCache}s.
+ */
+public class InvalidationTrackingCacheManager extends CaffeineCacheManager {
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        return new InvalidationTrackingCache(name, cache, isAllowNullValues());
+    }
+}
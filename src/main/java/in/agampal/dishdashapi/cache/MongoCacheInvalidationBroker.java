@@ -0,0 +1,165 @@
+package in.agampal.dishdashapi.cache;
+
+import com.mongodb.CursorType;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.CollectionOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Broadcasts invalidations through a capped collection. Every node tails it with an awaitData
+ * cursor, so messages arrive within milliseconds and no extra infrastructure is needed.
+ * Works on standalone servers, unlike change streams.
+ * <p>
+ * Messages are read in the collection's insertion order ({@code $natural}), which the server assigns. The
+ * {@code _id}s come from each publishing client, so they are only compared for equality: a reopened cursor
+ * reads from the start and skips up to the last message seen. If that message has already been overwritten,
+ * everything read while looking for it is delivered, since an extra invalidation only costs a cache miss.
+ */
+@Slf4j
+public class MongoCacheInvalidationBroker implements CacheInvalidationBroker, AutoCloseable {
+
+    private static final String COLLECTION = "cache_invalidations";
+    private static final long CAPPED_SIZE_BYTES = 16 * 1024 * 1024;
+    // Bounds the scan, and the messages held back during it, when a cursor is reopened
+    private static final long CAPPED_MAX_DOCUMENTS = 10_000;
+    private static final Document NATURAL_ORDER = new Document("$natural", 1);
+
+    private final MongoTemplate mongoTemplate;
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private volatile boolean collectionReady;
+    private Thread tailer;
+
+    public MongoCacheInvalidationBroker(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        collection().insertOne(new Document("origin", invalidation.originNodeId())
+                .append("cache", invalidation.cacheName())
+                .append("key", invalidation.key()));
+    }
+
+    @Override
+    public synchronized void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+        if (tailer == null) {
+            running = true;
+            tailer = new Thread(this::tail, "cache-invalidation-tailer");
+            tailer.setDaemon(true);
+            tailer.start();
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        if (tailer != null) {
+            tailer.interrupt();
+        }
+    }
+
+    private void tail() {
+        // Only messages written after this node started matter; older ones predate its near cache
+        Object lastSeen = newestId();
+        while (running) {
+            try (MongoCursor<Document> cursor = collection().find()
+                    .sort(NATURAL_ORDER)
+                    .cursorType(CursorType.TailableAwait)
+                    .maxAwaitTime(1, TimeUnit.SECONDS)
+                    .noCursorTimeout(true)
+                    .iterator()) {
+                List<Document> skipped = new ArrayList<>();
+                boolean skipping = lastSeen != null;
+                while (running) {
+                    Document message = cursor.tryNext();
+                    if (message == null) {
+                        if (skipping) {
+                            // Caught up without meeting the last message seen: it was overwritten while away
+                            skipping = false;
+                            skipped.forEach(this::deliver);
+                            skipped.clear();
+                        }
+                        if (cursor.getServerCursor() == null) {
+                            // Tailable cursors die immediately on an empty collection; reopen shortly
+                            break;
+                        }
+                        continue;
+                    }
+                    if (skipping) {
+                        if (message.get("_id").equals(lastSeen)) {
+                            skipping = false;
+                            skipped.clear();
+                        } else {
+                            skipped.add(message);
+                        }
+                        continue;
+                    }
+                    lastSeen = message.get("_id");
+                    deliver(message);
+                }
+                TimeUnit.MILLISECONDS.sleep(100);
+            } catch (InterruptedException ex) {
+                return;
+            } catch (RuntimeException ex) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation tailer failed, reconnecting: {}", ex.toString());
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private Object newestId() {
+        while (running) {
+            try {
+                Document newest = collection().find().sort(new Document("$natural", -1)).limit(1).first();
+                return newest == null ? null : newest.get("_id");
+            } catch (RuntimeException ex) {
+                log.warn("Cache invalidation tailer could not read its start position, retrying: {}", ex.toString());
+                try {
+                    TimeUnit.SECONDS.sleep(1);
+                } catch (InterruptedException interrupted) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void deliver(Document message) {
+        CacheInvalidation invalidation = new CacheInvalidation(message.getString("origin"),
+                message.getString("cache"), message.getString("key"));
+        listeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    private MongoCollection<Document> collection() {
+        if (!collectionReady) {
+            if (!mongoTemplate.collectionExists(COLLECTION)) {
+                try {
+                    mongoTemplate.createCollection(COLLECTION, CollectionOptions.empty().capped().size(CAPPED_SIZE_BYTES)
+                            .maxDocuments(CAPPED_MAX_DOCUMENTS));
+                } catch (RuntimeException ex) {
+                    // Another node created it first
+                }
+            }
+            collectionReady = true;
+        }
+        return mongoTemplate.getCollection(COLLECTION);
+    }
+}
@@ -0,0 +1,77 @@
+package in.agampal.dishdashapi.cache;
+
+import in.agampal.dishdashapi.entity.SharedCacheEntryEntity;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Shared tier in the cache_entries collection. Values are stored with their type hint so any
+ * mapped DTO round-trips; a TTL index drops expired entries.
+ */
+public class MongoSharedCacheStore implements SharedCacheStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoSharedCacheStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Object get(String cacheName, String key) {
+        SharedCacheEntryEntity entry = mongoTemplate.findById(id(cacheName, key), SharedCacheEntryEntity.class);
+        // The TTL monitor only runs once a minute, so check expiry here as well
+        if (entry == null || entry.getExpireAt().isBefore(Instant.now())) {
+            return null;
+        }
+        return entry.getValue();
+    }
+
+    @Override
+    public void put(String cacheName, String key, Object value, Duration ttl) {
+        mongoTemplate.save(entry(cacheName, key, value, ttl));
+    }
+
+    @Override
+    public Object putIfAbsent(String cacheName, String key, Object value, Duration ttl) {
+        try {
+            mongoTemplate.insert(entry(cacheName, key, value, ttl));
+            return null;
+        } catch (DuplicateKeyException ex) {
+            Object existing = get(cacheName, key);
+            if (existing != null) {
+                return existing;
+            }
+            // Expired but not yet removed by the TTL monitor
+            put(cacheName, key, value, ttl);
+            return null;
+        }
+    }
+
+    @Override
+    public void evict(String cacheName, String key) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(id(cacheName, key))), SharedCacheEntryEntity.class);
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        mongoTemplate.remove(new Query(Criteria.where("cacheName").is(cacheName)), SharedCacheEntryEntity.class);
+    }
+
+    private SharedCacheEntryEntity entry(String cacheName, String key, Object value, Duration ttl) {
+        return SharedCacheEntryEntity.builder()
+                .id(id(cacheName, key))
+                .cacheName(cacheName)
+                .value(value)
+                .expireAt(Instant.now().plus(ttl))
+                .build();
+    }
+
+    private String id(String cacheName, String key) {
+        return cacheName + "::" + key;
+    }
+}
@@ -0,0 +1,22 @@
+package in.agampal.dishdashapi.cache;
+
+import java.time.Duration;
+
+/**
+ * Shared second tier behind each node's near cache. Keys are the string form of the cache key.
+ */
+public interface SharedCacheStore {
+
+    Object get(String cacheName, String key);
+
+    void put(String cacheName, String key, Object value, Duration ttl);
+
+    /**
+     * Stores the value unless the key already holds an unexpired one. Returns that value, or null if stored.
+     */
+    Object putIfAbsent(String cacheName, String key, Object value, Duration ttl);
+
+    void evict(String cacheName, String key);
+
+    void clear(String cacheName);
+}
@@ -0,0 +1,141 @@
+package in.agampal.dishdashapi.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Near Caffeine cache in front of a {@link SharedCacheStore}. Writes and evictions go to both tiers
+ * and are broadcast so other nodes drop their near copy and re-read the shared tier on next access.
+ * Values loaded from the database ({@link #putLoaded}, {@link #get(Object, Callable)}) and {@link #putIfAbsent}
+ * fills are written to both tiers without a broadcast: they replace nothing other nodes must drop. Loads are
+ * only kept if the key was not evicted while they ran, as in {@link #putIfUnchanged}. Extends {@link InvalidationTrackingCache}, and through it
+ * {@code CaffeineCache}, so the near tier keeps its actuator cache metrics.
+ */
+public class TwoTierCache extends InvalidationTrackingCache {
+
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> near;
+    private final SharedCacheStore shared;
+    private final CacheInvalidationBroker broker;
+    private final String nodeId;
+    private final Duration sharedTtl;
+
+    public TwoTierCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> near,
+                        SharedCacheStore shared, CacheInvalidationBroker broker, String nodeId, Duration sharedTtl) {
+        super(name, near, false);
+        this.near = near;
+        this.shared = shared;
+        this.broker = broker;
+        this.nodeId = nodeId;
+        this.sharedTtl = sharedTtl;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = near.getIfPresent(key);
+        if (value == null) {
+            value = shared.get(getName(), key.toString());
+            if (value != null) {
+                near.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long generation = generation(key);
+        boolean[] loaded = new boolean[1];
+        // Caffeine runs at most one loader per key on this node
+        Object value = near.get(key, k -> {
+            Object current = shared.get(getName(), k.toString());
+            if (current == null) {
+                try {
+                    current = toStoreValue(valueLoader.call());
+                } catch (Exception ex) {
+                    throw new ValueRetrievalException(key, valueLoader, ex);
+                }
+                loaded[0] = true;
+                if (generation(k) == generation) {
+                    shared.put(getName(), k.toString(), current, sharedTtl);
+                }
+            }
+            return current;
+        });
+        if (loaded[0] && generation(key) != generation) {
+            // Evicted here or on another node while loading: the caller gets the value, the cache does not keep it
+            evict(key);
+        }
+        return (T) fromStoreValue(value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        near.put(key, storeValue);
+        shared.put(getName(), key.toString(), storeValue, sharedTtl);
+        broker.publish(new CacheInvalidation(nodeId, getName(), key.toString()));
+    }
+
+    @Override
+    protected void putLoaded(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        near.put(key, storeValue);
+        shared.put(getName(), key.toString(), storeValue, sharedTtl);
+    }
+
+    // Atomic per node through the near map and across nodes through the shared store
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        boolean[] stored = new boolean[1];
+        Object current = near.asMap().computeIfAbsent(key, k -> {
+            Object existing = shared.putIfAbsent(getName(), k.toString(), storeValue, sharedTtl);
+            stored[0] = existing == null;
+            return stored[0] ? storeValue : existing;
+        });
+        return stored[0] ? null : toValueWrapper(current);
+    }
+
+    @Override
+    public void evict(Object key) {
+        invalidated(key);
+        near.invalidate(key);
+        shared.evict(getName(), key.toString());
+        broker.publish(new CacheInvalidation(nodeId, getName(), key.toString()));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean present = near.getIfPresent(key) != null;
+        evict(key);
+        return present;
+    }
+
+    @Override
+    public void clear() {
+        cleared();
+        near.invalidateAll();
+        shared.clear(getName());
+        broker.publish(new CacheInvalidation(nodeId, getName(), null));
+    }
+
+    @Override
+    public boolean invalidate() {
+        clear();
+        return true;
+    }
+
+    /**
+     * Applies an invalidation broadcast by another node to the near tier only.
+     */
+    void invalidateNear(String key) {
+        if (key == null) {
+            cleared();
+            near.invalidateAll();
+        } else {
+            invalidated(key);
+            near.invalidate(key);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package in.agampal.dishdashapi.cache;
+
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caffeine cache manager whose listed caches are two-tier. The remaining caches stay node-local.
+ * Keys of two-tier caches must be strings (or have a stable {@code toString}), since that is what
+ * crosses the wire. Each cache keeps entries in the shared tier for its own TTL when one is given, so the
+ * shared copy does not outlive the near one; the rest use the default.
+ */
+public class TwoTierCacheManager extends InvalidationTrackingCacheManager {
+
+    private final Set<String> twoTierNames;
+    private final SharedCacheStore shared;
+    private final CacheInvalidationBroker broker;
+    private final Duration sharedTtl;
+    private final Map<String, Duration> sharedTtls;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, TwoTierCache> twoTierCaches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(Set<String> twoTierNames, SharedCacheStore shared,
+                               CacheInvalidationBroker broker, Duration sharedTtl) {
+        this(twoTierNames, shared, broker, sharedTtl, Map.of());
+    }
+
+    public TwoTierCacheManager(Set<String> twoTierNames, SharedCacheStore shared,
+                               CacheInvalidationBroker broker, Duration sharedTtl, Map<String, Duration> sharedTtls) {
+        this.twoTierNames = twoTierNames;
+        this.shared = shared;
+        this.broker = broker;
+        this.sharedTtl = sharedTtl;
+        this.sharedTtls = sharedTtls;
+        broker.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+        if (!twoTierNames.contains(name)) {
+            return super.adaptCaffeineCache(name, cache);
+        }
+        TwoTierCache twoTierCache = new TwoTierCache(name, cache, shared, broker, nodeId,
+                sharedTtls.getOrDefault(name, sharedTtl));
+        twoTierCaches.put(name, twoTierCache);
+        return twoTierCache;
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.originNodeId())) {
+            return;
+        }
+        TwoTierCache cache = twoTierCaches.get(invalidation.cacheName());
+        if (cache != null) {
+            cache.invalidateNear(invalidation.key());
+        }
+    }
+}
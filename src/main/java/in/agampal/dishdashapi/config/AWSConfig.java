@@ -3,6 +3,8 @@ package in.agampal.dishdashapi.config;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.regions.Region;
@@ -17,7 +19,10 @@ public class AWSConfig {
     @Value("${aws.region}")
     private String region;
 
+    // Built on the first upload or delete rather than during startup; FoodServiceImpl injects it lazily
     @Bean
+    @Lazy
+    @Profile("!perf")
     public S3Client s3Client() {
         return S3Client.builder()
                 .region(Region.of(region))
@@ -0,0 +1,91 @@
+package in.agampal.dishdashapi.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * AIMD concurrency limit driven by observed latency. While requests finish under the latency target
+ * the limit grows by {@code 1/limit} per completion (about +1 per round of requests); a completion
+ * over the target cuts it by {@code backoffRatio}, at most once per target interval so one slow burst
+ * does not collapse it. Reads may only use {@code readShare} of the limit, so they are shed first and
+ * writes such as checkout keep headroom.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    public enum Priority { READ, WRITE }
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final AtomicLong limitBits;
+    private final AtomicLong lastDecreaseNanos = new AtomicLong(System.nanoTime());
+    private final double minLimit;
+    private final double maxLimit;
+    private final long latencyTargetNanos;
+    private final double readShare;
+    private final double backoffRatio;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyTargetMillis,
+                                      double readShare, double backoffRatio) {
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTargetMillis);
+        this.readShare = readShare;
+        this.backoffRatio = backoffRatio;
+    }
+
+    public boolean tryAcquire(Priority priority) {
+        double allowed = priority == Priority.WRITE ? getLimit() : Math.max(1, getLimit() * readShare);
+        while (true) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                return false;
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a permit and feeds its latency into the limit.
+     */
+    public void onComplete(long latencyNanos) {
+        inflight.decrementAndGet();
+        if (latencyNanos > latencyTargetNanos) {
+            long now = System.nanoTime();
+            long last = lastDecreaseNanos.get();
+            if (now - last >= latencyTargetNanos && lastDecreaseNanos.compareAndSet(last, now)) {
+                updateLimit(limit -> limit * backoffRatio);
+            }
+        } else {
+            updateLimit(limit -> limit + 1 / limit);
+        }
+    }
+
+    /**
+     * Releases a permit without a latency sample, e.g. when the request went async.
+     */
+    public void release() {
+        inflight.decrementAndGet();
+    }
+
+    public double getLimit() {
+        return Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    private void updateLimit(DoubleUnaryOperator change) {
+        while (true) {
+            long bits = limitBits.get();
+            double next = Math.max(minLimit, Math.min(maxLimit, change.applyAsDouble(Double.longBitsToDouble(bits))));
+            if (limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+}
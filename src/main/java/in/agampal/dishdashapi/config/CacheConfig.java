@@ -1,19 +1,117 @@
 package in.agampal.dishdashapi.config;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import in.agampal.dishdashapi.cache.CacheInvalidationBroker;
+import in.agampal.dishdashapi.cache.InMemoryCacheInvalidationBroker;
+import in.agampal.dishdashapi.cache.InMemorySharedCacheStore;
+import in.agampal.dishdashapi.cache.InvalidationTrackingCacheManager;
+import in.agampal.dishdashapi.cache.MongoCacheInvalidationBroker;
+import in.agampal.dishdashapi.cache.MongoSharedCacheStore;
+import in.agampal.dishdashapi.cache.SharedCacheStore;
+import in.agampal.dishdashapi.cache.TwoTierCacheManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.data.mongodb.core.MongoTemplate;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Caffeine caches (W-TinyLFU eviction), one per entry under {@code cache.specs.*}, each with its own
+ * size bound and TTL. Specs must include {@code recordStats} for the cache.* actuator metrics.
+ * With {@code cache.tier=two-tier} the caches in {@code cache.two-tier.caches} become near caches over
+ * a shared tier, kept consistent across nodes by invalidation broadcasts. The shared tier keeps each entry
+ * for its cache's {@code expireAfterWrite}, or {@code cache.two-tier.shared-ttl} when the spec has none.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfig {
 
+    private static final String DEFAULT_SPEC = "maximumSize=1000,expireAfterWrite=10m,recordStats";
+
+    @Value("${cache.tier:local}")
+    private String tier;
+
+    @Value("${cache.two-tier.caches:foods,menu,orders}")
+    private Set<String> twoTierCaches;
+
+    @Value("${cache.two-tier.shared-ttl:10m}")
+    private Duration sharedTtl;
+
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager("foods", "users", "orders");
+    public CacheManager cacheManager(Environment environment,
+                                     ObjectProvider<SharedCacheStore> sharedCacheStore,
+                                     ObjectProvider<CacheInvalidationBroker> cacheInvalidationBroker) {
+        Map<String, Duration> specTtls = new HashMap<>();
+        cacheSpecs(environment).forEach((name, spec) -> {
+            Duration ttl = expireAfterWrite(spec);
+            if (ttl != null) {
+                specTtls.put(name, ttl);
+            }
+        });
+        CaffeineCacheManager cacheManager = "two-tier".equalsIgnoreCase(tier)
+                ? new TwoTierCacheManager(twoTierCaches, sharedCacheStore.getObject(),
+                        cacheInvalidationBroker.getObject(), sharedTtl, specTtls)
+                : new InvalidationTrackingCacheManager();
+        cacheManager.setCacheSpecification(DEFAULT_SPEC);
+        cacheManager.setAllowNullValues(false);
+        cacheSpecs(environment).forEach((name, spec) ->
+                cacheManager.registerCustomCache(name, Caffeine.from(spec).build()));
+        return cacheManager;
     }
-}
 
+    // mongo, or memory as a single-JVM stand-in
+    @Bean
+    @ConditionalOnProperty(name = "cache.tier", havingValue = "two-tier")
+    public SharedCacheStore sharedCacheStore(@Value("${cache.two-tier.backend:mongo}") String backend,
+                                             ObjectProvider<MongoTemplate> mongoTemplate) {
+        return "memory".equalsIgnoreCase(backend)
+                ? new InMemorySharedCacheStore()
+                : new MongoSharedCacheStore(mongoTemplate.getObject());
+    }
 
+    @Bean
+    @ConditionalOnProperty(name = "cache.tier", havingValue = "two-tier")
+    public CacheInvalidationBroker cacheInvalidationBroker(@Value("${cache.two-tier.backend:mongo}") String backend,
+                                                           ObjectProvider<MongoTemplate> mongoTemplate) {
+        return "memory".equalsIgnoreCase(backend)
+                ? new InMemoryCacheInvalidationBroker()
+                : new MongoCacheInvalidationBroker(mongoTemplate.getObject());
+    }
+
+    // Caffeine spec durations are a number and one of d, h, m, s
+    static Duration expireAfterWrite(String spec) {
+        for (String option : spec.split(",")) {
+            String[] keyValue = option.trim().split("=", 2);
+            if (keyValue.length == 2 && keyValue[0].trim().equals("expireAfterWrite")) {
+                String value = keyValue[1].trim();
+                long amount = Long.parseLong(value.substring(0, value.length() - 1));
+                return switch (Character.toLowerCase(value.charAt(value.length() - 1))) {
+                    case 'd' -> Duration.ofDays(amount);
+                    case 'h' -> Duration.ofHours(amount);
+                    case 'm' -> Duration.ofMinutes(amount);
+                    case 's' -> Duration.ofSeconds(amount);
+                    default -> throw new IllegalArgumentException("Invalid expireAfterWrite in cache spec: " + spec);
+                };
+            }
+        }
+        return null;
+    }
+
+    static Map<String, String> cacheSpecs(Environment environment) {
+        return Binder.get(environment)
+                .bind("cache.specs", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+    }
+}
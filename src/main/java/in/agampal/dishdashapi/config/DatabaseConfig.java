@@ -1,46 +1,37 @@
 package in.agampal.dishdashapi.config;
 
-import in.agampal.dishdashapi.entity.FoodEntity;
-import in.agampal.dishdashapi.entity.UserEntity;
-import org.springframework.context.annotation.Bean;
+import in.agampal.dishdashapi.entity.OrderEntity;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.index.Index;
-import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 
+/**
+ * Data migrations, run off the startup path by {@link StartupWarmup}. Indexes are declared on the
+ * entities and provisioned by {@link IndexManager}.
+ */
 @Configuration
+@Profile("!perf")
+@Slf4j
 public class DatabaseConfig {
 
-    @Bean
-    public String createIndexes(MongoTemplate mongoTemplate) {
-        // Create indexes for FoodEntity
-        IndexOperations foodIndexOps = mongoTemplate.indexOps(FoodEntity.class);
-        
-        // Index on category for faster filtering
-        foodIndexOps.ensureIndex(new Index().on("category", org.springframework.data.domain.Sort.Direction.ASC));
-        
-        // Index on name for faster searching
-        foodIndexOps.ensureIndex(new Index().on("name", org.springframework.data.domain.Sort.Direction.ASC));
-        
-        // Compound index for category and price
-        foodIndexOps.ensureIndex(new Index().on("category", org.springframework.data.domain.Sort.Direction.ASC)
-                .on("price", org.springframework.data.domain.Sort.Direction.ASC));
-        
-        // Text index for full-text search
-        foodIndexOps.ensureIndex(new Index().on("name", org.springframework.data.domain.Sort.Direction.ASC)
-                .on("description", org.springframework.data.domain.Sort.Direction.ASC));
+    private final MongoTemplate mongoTemplate;
 
-        // Create indexes for UserEntity
-        IndexOperations userIndexOps = mongoTemplate.indexOps(UserEntity.class);
-        
-        // Unique index on email
-        userIndexOps.ensureIndex(new Index().on("email", org.springframework.data.domain.Sort.Direction.ASC).unique());
-        
-        // Index on name for faster searching
-        userIndexOps.ensureIndex(new Index().on("name", org.springframework.data.domain.Sort.Direction.ASC));
+    public DatabaseConfig(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
 
-        return "Indexes created successfully";
+    public void backfillOrderCreatedAt() {
+        // Orders placed before createdAt existed take it from their ObjectId timestamp so the feed can page past them
+        long updated = mongoTemplate.updateMulti(new Query(Criteria.where("createdAt").exists(false)),
+                AggregationUpdate.update().set("createdAt").toValue(ConvertOperators.ToDate.toDate("$_id")),
+                OrderEntity.class).getModifiedCount();
+        if (updated > 0) {
+            log.info("Backfilled createdAt on {} orders", updated);
+        }
     }
 }
-
-
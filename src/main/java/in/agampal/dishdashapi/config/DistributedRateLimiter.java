@@ -0,0 +1,183 @@
+package in.agampal.dishdashapi.config;
+
+import in.agampal.dishdashapi.util.ExecutorFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Cluster-wide fixed-window limiter. Each node leases permits from the shared {@link RateLimitStore}
+ * in batches and hands them out locally, so the store sees one round-trip per {@code batchSize}
+ * requests per key instead of one per request. Permits a node leased but did not use expire with
+ * the window; the cluster can under-admit by up to {@code nodes * batchSize} but never over-admit.
+ * <p>
+ * If the store errors or answers slower than {@code storeTimeoutMillis}, the limiter falls back to
+ * the local-only limiter for {@code degradedBackoffMillis} before trying the store again.
+ */
+@Slf4j
+public class DistributedRateLimiter implements RateLimiter {
+
+    private static final long EXHAUSTED = 1L << 31;
+    private static final long REMAINING_MASK = EXHAUSTED - 1;
+
+    private final RateLimitStore store;
+    private final RateLimiter fallback;
+    private final int maxRequests;
+    private final long windowMillis;
+    private final int batchSize;
+    private final long storeTimeoutMillis;
+    private final long degradedBackoffMillis;
+    private final int maxKeys;
+    private final ThreadPoolExecutor storeExecutor;
+    private final ConcurrentHashMap<String, Lease> leases = new ConcurrentHashMap<>();
+    private volatile long degradedUntil;
+
+    public DistributedRateLimiter(RateLimitStore store, RateLimiter fallback, int maxRequests, long windowMillis,
+                                  int batchSize, long storeTimeoutMillis, long degradedBackoffMillis, int maxKeys) {
+        this(store, fallback, maxRequests, windowMillis, batchSize, storeTimeoutMillis, degradedBackoffMillis, maxKeys,
+                ExecutorFactory.platformThreads("rate-limit-store"));
+    }
+
+    public DistributedRateLimiter(RateLimitStore store, RateLimiter fallback, int maxRequests, long windowMillis,
+                                  int batchSize, long storeTimeoutMillis, long degradedBackoffMillis, int maxKeys,
+                                  ThreadFactory threadFactory) {
+        this.store = store;
+        this.fallback = fallback;
+        this.maxRequests = maxRequests;
+        this.windowMillis = windowMillis;
+        this.batchSize = batchSize;
+        this.storeTimeoutMillis = storeTimeoutMillis;
+        this.degradedBackoffMillis = degradedBackoffMillis;
+        this.maxKeys = maxKeys;
+        this.storeExecutor = new ThreadPoolExecutor(4, 4, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1000), threadFactory);
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        long now = System.currentTimeMillis();
+        if (now < degradedUntil) {
+            return fallback.tryAcquire(key);
+        }
+        long window = now / windowMillis;
+        Lease lease = leaseFor(key);
+        if (lease == null) {
+            return fallback.tryAcquire(key);
+        }
+        if (lease.tryTake(window)) {
+            return true;
+        }
+
+        // Only one thread per key goes to the store; the rest wait for its lease
+        lease.lock.lock();
+        try {
+            if (lease.tryTake(window)) {
+                return true;
+            }
+            if (lease.isExhausted(window)) {
+                return false;
+            }
+            Integer granted = reserve(key, window);
+            if (granted == null) {
+                return fallback.tryAcquire(key);
+            }
+            lease.refill(window, granted);
+            return lease.tryTake(window);
+        } finally {
+            lease.lock.unlock();
+        }
+    }
+
+    @Override
+    public long retryAfterSeconds() {
+        long remaining = windowMillis - (System.currentTimeMillis() % windowMillis);
+        return Math.max(1, (remaining + 999) / 1000);
+    }
+
+    // The fallback is not a bean of its own, so its idle keys are swept from here
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleKeys() {
+        evictIdleLeases();
+        if (fallback instanceof SlidingWindowRateLimiter local) {
+            local.evictIdleKeys();
+        }
+    }
+
+    private void evictIdleLeases() {
+        long window = System.currentTimeMillis() / windowMillis;
+        leases.values().removeIf(lease -> lease.window() < window);
+    }
+
+    private Lease leaseFor(String key) {
+        Lease lease = leases.get(key);
+        if (lease != null) {
+            return lease;
+        }
+        if (leases.size() >= maxKeys) {
+            evictIdleLeases();
+            if (leases.size() >= maxKeys) {
+                return null;
+            }
+        }
+        return leases.computeIfAbsent(key, k -> new Lease());
+    }
+
+    private Integer reserve(String key, long window) {
+        try {
+            long total = CompletableFuture
+                    .supplyAsync(() -> store.increment(key, window, batchSize, windowMillis), storeExecutor)
+                    .get(storeTimeoutMillis, TimeUnit.MILLISECONDS);
+            long before = total - batchSize;
+            return (int) Math.max(0, Math.min(batchSize, maxRequests - before));
+        } catch (TimeoutException | ExecutionException | RejectedExecutionException ex) {
+            degradedUntil = System.currentTimeMillis() + degradedBackoffMillis;
+            log.warn("Rate limit store unavailable, limiting locally for {} ms: {}", degradedBackoffMillis, ex.toString());
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Locally held permits for one key, packed as {@code window(32) | exhausted(1) | remaining(31)}.
+     */
+    private static final class Lease extends AtomicLong {
+        private final ReentrantLock lock = new ReentrantLock();
+
+        long window() {
+            return get() >>> 32;
+        }
+
+        boolean tryTake(long window) {
+            while (true) {
+                long packed = get();
+                if ((packed >>> 32) != window || (packed & REMAINING_MASK) == 0) {
+                    return false;
+                }
+                if (compareAndSet(packed, packed - 1)) {
+                    return true;
+                }
+            }
+        }
+
+        boolean isExhausted(long window) {
+            long packed = get();
+            return (packed >>> 32) == window && (packed & EXHAUSTED) != 0;
+        }
+
+        void refill(long window, int permits) {
+            set((window << 32) | (permits == 0 ? EXHAUSTED : permits));
+        }
+    }
+}
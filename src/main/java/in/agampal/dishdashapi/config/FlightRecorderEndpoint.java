@@ -0,0 +1,296 @@
+package in.agampal.dishdashapi.config;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * On-demand Java Flight Recorder sessions at {@code /actuator/jfr}, restricted to operators in SecurityConfig.
+ * {@code POST {"profile":"cpu|allocation|locks","seconds":30}} starts a bounded recording;
+ * {@code GET /actuator/jfr/{id}} returns its state and, once finished, the application frames
+ * ({@code in.agampal.dishdashapi}) that took the most CPU samples, allocated the most or waited longest on locks;
+ * {@code GET /actuator/jfr/{id}/recording.jfr} streams the file for JDK Mission Control.
+ * Only {@code jfr.max-concurrent} recordings run at once and starts are spaced by {@code jfr.min-interval}.
+ */
+@Component
+@Endpoint(id = "jfr")
+@Slf4j
+public class FlightRecorderEndpoint {
+
+    public enum Profile {
+        CPU(Map.of(
+                "jdk.ExecutionSample#enabled", "true",
+                "jdk.ExecutionSample#period", "10 ms")),
+        ALLOCATION(Map.of(
+                "jdk.ObjectAllocationSample#enabled", "true",
+                "jdk.ObjectAllocationSample#throttle", "300/s",
+                "jdk.ObjectAllocationSample#stackTrace", "true")),
+        LOCKS(Map.of(
+                "jdk.JavaMonitorEnter#enabled", "true",
+                "jdk.JavaMonitorEnter#threshold", "10 ms",
+                "jdk.JavaMonitorEnter#stackTrace", "true",
+                "jdk.ThreadPark#enabled", "true",
+                "jdk.ThreadPark#threshold", "10 ms",
+                "jdk.ThreadPark#stackTrace", "true"));
+
+        private final Map<String, String> settings;
+
+        Profile(Map<String, String> settings) {
+            this.settings = settings;
+        }
+    }
+
+    public record FrameCount(String frame, long value, double percent) {
+    }
+
+    public record Summary(long cpuSamples, List<FrameCount> topCpuFrames,
+                          long allocatedBytes, List<FrameCount> topAllocationFrames,
+                          long lockWaitMs, List<FrameCount> topLockFrames) {
+    }
+
+    public record RecordingInfo(long id, String profile, String state, Instant startedAt, long seconds,
+                                Long sizeBytes, String file, Summary summary) {
+    }
+
+    private static final String APPLICATION_PACKAGE = "in.agampal.dishdashapi.";
+    private static final String FILE_NAME = "recording.jfr";
+
+    private final Map<Long, RecordingInfo> recordings = new LinkedHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final Semaphore running;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "jfr-recorder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile long lastStartNanos;
+
+    @Value("${jfr.max-duration:120s}")
+    private Duration maxDuration;
+
+    @Value("${jfr.min-interval:60s}")
+    private Duration minInterval;
+
+    @Value("${jfr.retained:5}")
+    private int retained;
+
+    @Value("${jfr.top-frames:20}")
+    private int topFrames;
+
+    @Value("${jfr.directory:${java.io.tmpdir}/dishdash-jfr}")
+    private Path directory;
+
+    public FlightRecorderEndpoint(@Value("${jfr.max-concurrent:1}") int maxConcurrent) {
+        this.running = new Semaphore(maxConcurrent);
+    }
+
+    @ReadOperation
+    public synchronized List<RecordingInfo> recordings() {
+        return new ArrayList<>(recordings.values());
+    }
+
+    @ReadOperation
+    public synchronized WebEndpointResponse<RecordingInfo> recording(@Selector long id) {
+        RecordingInfo info = recordings.get(id);
+        return info == null ? new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND) : new WebEndpointResponse<>(info);
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> file(@Selector long id, @Selector String name) {
+        RecordingInfo info;
+        synchronized (this) {
+            info = recordings.get(id);
+        }
+        if (info == null || info.file() == null || !FILE_NAME.equals(name) || !Files.exists(Path.of(info.file()))) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        return new WebEndpointResponse<>(new FileSystemResource(info.file()));
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(String profile, @Nullable Long seconds) {
+        Profile selected;
+        try {
+            selected = Profile.valueOf(profile.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            return new WebEndpointResponse<>(Map.of("error", "profile must be one of cpu, allocation, locks"),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        Duration duration = Duration.ofSeconds(seconds == null ? 30 : seconds);
+        if (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0) {
+            return new WebEndpointResponse<>(Map.of("error", "seconds must be between 1 and " + maxDuration.toSeconds()),
+                    WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+
+        synchronized (this) {
+            long sinceLast = System.nanoTime() - lastStartNanos;
+            if ((lastStartNanos != 0 && sinceLast < minInterval.toNanos()) || !running.tryAcquire()) {
+                return new WebEndpointResponse<>(Map.of("error", "A recording is running or one started less than "
+                        + minInterval.toSeconds() + " s ago"), WebEndpointResponse.STATUS_TOO_MANY_REQUESTS);
+            }
+            lastStartNanos = System.nanoTime();
+        }
+
+        long id = ids.incrementAndGet();
+        Recording recording = new Recording(selected.settings);
+        try {
+            Files.createDirectories(directory);
+            recording.setName("dishdash-" + id);
+            recording.setToDisk(true);
+            recording.start();
+        } catch (IOException | RuntimeException ex) {
+            recording.close();
+            running.release();
+            log.warn("Could not start flight recording", ex);
+            return new WebEndpointResponse<>(Map.of("error", "Could not start recording: " + ex.getMessage()),
+                    WebEndpointResponse.STATUS_INTERNAL_SERVER_ERROR);
+        }
+
+        RecordingInfo info = new RecordingInfo(id, selected.name().toLowerCase(Locale.ROOT), "RUNNING", Instant.now(),
+                duration.toSeconds(), null, null, null);
+        synchronized (this) {
+            recordings.put(id, info);
+        }
+        log.info("Started {} flight recording {} for {} s", info.profile(), id, duration.toSeconds());
+        scheduler.schedule(() -> finish(recording, info), duration.toMillis(), TimeUnit.MILLISECONDS);
+        return new WebEndpointResponse<>(info, 202);
+    }
+
+    private void finish(Recording recording, RecordingInfo started) {
+        Path file = directory.resolve("dishdash-" + started.id() + ".jfr");
+        RecordingInfo finished;
+        try {
+            recording.stop();
+            recording.dump(file);
+            finished = new RecordingInfo(started.id(), started.profile(), "FINISHED", started.startedAt(), started.seconds(),
+                    Files.size(file), file.toString(), summarize(file));
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Flight recording {} failed", started.id(), ex);
+            finished = new RecordingInfo(started.id(), started.profile(), "FAILED: " + ex.getMessage(), started.startedAt(),
+                    started.seconds(), null, null, null);
+        } finally {
+            recording.close();
+            running.release();
+        }
+        synchronized (this) {
+            recordings.put(started.id(), finished);
+            evictOldRecordings();
+        }
+        log.info("Flight recording {} finished", started.id());
+    }
+
+    private void evictOldRecordings() {
+        while (recordings.size() > retained) {
+            Long oldest = recordings.keySet().iterator().next();
+            RecordingInfo info = recordings.get(oldest);
+            if ("RUNNING".equals(info.state())) {
+                return;
+            }
+            recordings.remove(oldest);
+            if (info.file() != null) {
+                try {
+                    Files.deleteIfExists(Path.of(info.file()));
+                } catch (IOException ex) {
+                    log.debug("Could not delete {}", info.file(), ex);
+                }
+            }
+        }
+    }
+
+    // Streams the file event by event; recordings can be large and the summary is all that is kept in memory
+    Summary summarize(Path file) throws IOException {
+        Map<String, Long> cpu = new HashMap<>();
+        Map<String, Long> allocation = new HashMap<>();
+        Map<String, Long> locks = new HashMap<>();
+        long cpuSamples = 0;
+        long allocatedBytes = 0;
+        long lockWaitNanos = 0;
+        try (RecordingFile events = new RecordingFile(file)) {
+            while (events.hasMoreEvents()) {
+                RecordedEvent event = events.readEvent();
+                String type = event.getEventType().getName();
+                String frame = applicationFrame(event.getStackTrace());
+                switch (type) {
+                    case "jdk.ExecutionSample" -> {
+                        cpuSamples++;
+                        cpu.merge(frame, 1L, Long::sum);
+                    }
+                    case "jdk.ObjectAllocationSample" -> {
+                        long weight = event.getLong("weight");
+                        allocatedBytes += weight;
+                        allocation.merge(frame, weight, Long::sum);
+                    }
+                    case "jdk.JavaMonitorEnter", "jdk.ThreadPark" -> {
+                        long nanos = event.getDuration().toNanos();
+                        lockWaitNanos += nanos;
+                        locks.merge(frame, nanos / 1_000_000, Long::sum);
+                    }
+                    default -> {
+                    }
+                }
+            }
+        }
+        return new Summary(cpuSamples, top(cpu, cpuSamples), allocatedBytes, top(allocation, allocatedBytes),
+                lockWaitNanos / 1_000_000, top(locks, lockWaitNanos / 1_000_000));
+    }
+
+    // Attributes an event to the innermost frame in this application, so time spent in libraries and the
+    // JDK is charged to the code that called into them
+    private static String applicationFrame(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) {
+            return "(no stack trace)";
+        }
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE)) {
+                return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "(outside " + APPLICATION_PACKAGE.substring(0, APPLICATION_PACKAGE.length() - 1) + ")";
+    }
+
+    private List<FrameCount> top(Map<String, Long> counts, long total) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(topFrames)
+                .map(entry -> new FrameCount(entry.getKey(), entry.getValue(),
+                        total == 0 ? 0 : Math.round(1000.0 * entry.getValue() / total) / 10.0))
+                .toList();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,24 @@
+package in.agampal.dishdashapi.config;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-JVM stand-in for the shared counter store, used in tests and local runs.
+ * Several {@link DistributedRateLimiter}s sharing one instance behave like nodes sharing Mongo.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final ConcurrentHashMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private volatile long currentWindow;
+
+    @Override
+    public long increment(String key, long window, int permits, long windowMillis) {
+        if (window > currentWindow) {
+            currentWindow = window;
+            String suffix = "|" + window;
+            counters.keySet().removeIf(k -> !k.endsWith(suffix));
+        }
+        return counters.computeIfAbsent(key + "|" + window, k -> new AtomicLong()).addAndGet(permits);
+    }
+}
@@ -0,0 +1,240 @@
+package in.agampal.dishdashapi.config;
+
+import com.mongodb.MongoException;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver.IndexDefinitionHolder;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Treats the {@code @Indexed}/{@code @CompoundIndex} annotations on the entities as the source of truth.
+ * {@link #reconcile()} builds declared indexes that are missing, reports ones whose options drifted (or, with
+ * {@code indexes.replace-conflicting=true}, replaces them: a unique replacement is only attempted when the data
+ * has no duplicate keys, and the old index is recreated if the new build fails), and reports indexes nobody declared, prefixes of other indexes and ones {@code $indexStats} says are unused.
+ * The last report is served at {@code /actuator/indexes}.
+ */
+@Component
+@Profile("!perf")
+@Endpoint(id = "indexes")
+@Slf4j
+public class IndexManager {
+
+    public record IndexReport(List<String> created, List<String> replaced, List<String> failed,
+                              List<String> undeclared, List<String> redundant, List<String> unused) {
+    }
+
+    private final MongoTemplate mongoTemplate;
+    private volatile IndexReport lastReport;
+
+    @Value("${indexes.replace-conflicting:false}")
+    private boolean replaceConflicting;
+
+    public IndexManager(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @ReadOperation
+    public IndexReport report() {
+        return lastReport;
+    }
+
+    public IndexReport reconcile() {
+        IndexReport report = new IndexReport(new ArrayList<>(), new ArrayList<>(), new ArrayList<>(),
+                new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        declaredIndexes().forEach((collection, declared) -> reconcile(collection, declared, report));
+
+        if (!report.undeclared().isEmpty() || !report.redundant().isEmpty() || !report.unused().isEmpty()) {
+            log.warn("Index drift: undeclared={} redundant={} unused={}", report.undeclared(), report.redundant(), report.unused());
+        }
+        log.info("Indexes reconciled: created={} replaced={} failed={}", report.created(), report.replaced(), report.failed());
+        lastReport = report;
+        return report;
+    }
+
+    Map<String, List<IndexDefinitionHolder>> declaredIndexes() {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        Map<String, List<IndexDefinitionHolder>> declared = new TreeMap<>();
+        for (MongoPersistentEntity<?> entity : mongoTemplate.getConverter().getMappingContext().getPersistentEntities()) {
+            if (entity.isAnnotationPresent(org.springframework.data.mongodb.core.mapping.Document.class)) {
+                List<IndexDefinitionHolder> indexes = declared.computeIfAbsent(entity.getCollection(), c -> new ArrayList<>());
+                indexes.addAll(resolver.resolveIndexForEntity(entity));
+            }
+        }
+        return declared;
+    }
+
+    private void reconcile(String collection, List<IndexDefinitionHolder> declared, IndexReport report) {
+        List<Document> existing = listIndexes(collection);
+
+        for (IndexDefinitionHolder index : declared) {
+            Document match = findByKey(existing, index.getIndexKeys());
+            String label = collection + "." + index.getIndexOptions().getString("name");
+            try {
+                if (match == null) {
+                    build(collection, index);
+                    report.created().add(label);
+                } else if (!sameOptions(match, index.getIndexOptions())) {
+                    if (replaceConflicting) {
+                        replace(collection, match, index, label, report);
+                    } else {
+                        report.failed().add(label + " (options differ from existing " + match.getString("name") + ")");
+                    }
+                }
+            } catch (MongoException | org.springframework.dao.DataAccessException ex) {
+                log.warn("Could not build index {}", label, ex);
+                report.failed().add(label + " (" + ex.getMessage() + ")");
+            }
+        }
+
+        existing = listIndexes(collection);
+        for (Document index : existing) {
+            String name = index.getString("name");
+            if ("_id_".equals(name)) {
+                continue;
+            }
+            if (declared.stream().noneMatch(d -> sameKey(index.get("key", Document.class), d.getIndexKeys()))) {
+                report.undeclared().add(collection + "." + name);
+            }
+            if (!isConstraint(index)) {
+                existing.stream()
+                        .filter(other -> other != index && isPrefix(index.get("key", Document.class), other.get("key", Document.class)))
+                        .findFirst()
+                        .ifPresent(other -> report.redundant().add(collection + "." + name + " (prefix of " + other.getString("name") + ")"));
+            }
+        }
+        findUnused(collection, existing, report);
+    }
+
+    // Mongo refuses a second index on the same key, so the old one has to go before the new one is built
+    private void replace(String collection, Document existing, IndexDefinitionHolder index, String label, IndexReport report) {
+        String existingName = existing.getString("name");
+        if (index.getIndexOptions().getBoolean("unique", false) && hasDuplicateKeys(collection, index)) {
+            report.failed().add(label + " (duplicate keys in the data, kept existing " + existingName + ")");
+            return;
+        }
+        mongoTemplate.indexOps(collection).dropIndex(existingName);
+        try {
+            build(collection, index);
+        } catch (MongoException | org.springframework.dao.DataAccessException ex) {
+            Document spec = new Document(existing);
+            spec.remove("v");
+            spec.remove("ns");
+            mongoTemplate.getDb().runCommand(new Document("createIndexes", collection).append("indexes", List.of(spec)));
+            log.warn("Rebuilding index {} failed, restored {}", label, existingName);
+            throw ex;
+        }
+        report.replaced().add(label);
+    }
+
+    private boolean hasDuplicateKeys(String collection, IndexDefinitionHolder index) {
+        Document group = new Document();
+        Document present = new Document();
+        index.getIndexKeys().keySet().forEach(field -> {
+            group.put(field.replace('.', '_'), "$" + field);
+            present.put(field, new Document("$exists", true));
+        });
+        List<Document> pipeline = new ArrayList<>();
+        if (index.getIndexOptions().getBoolean("sparse", false)) {
+            pipeline.add(new Document("$match", present));
+        }
+        pipeline.add(new Document("$group", new Document("_id", group).append("count", new Document("$sum", 1))));
+        pipeline.add(new Document("$match", new Document("count", new Document("$gt", 1))));
+        pipeline.add(new Document("$limit", 1));
+        return mongoTemplate.getCollection(collection).aggregate(pipeline).allowDiskUse(true).first() != null;
+    }
+
+    private void build(String collection, IndexDefinitionHolder index) {
+        Document options = new Document(index.getIndexOptions());
+        options.put("background", true);
+        mongoTemplate.indexOps(collection).ensureIndex(new IndexDefinition() {
+            @Override
+            public Document getIndexKeys() {
+                return index.getIndexKeys();
+            }
+
+            @Override
+            public Document getIndexOptions() {
+                return options;
+            }
+        });
+    }
+
+    // Needs the clusterMonitor role; counters reset on restart, so "unused" means unused since that time
+    private void findUnused(String collection, List<Document> existing, IndexReport report) {
+        try {
+            for (Document stats : mongoTemplate.getCollection(collection)
+                    .aggregate(List.of(new Document("$indexStats", new Document())))) {
+                Document accesses = stats.get("accesses", Document.class);
+                Number ops = accesses == null ? null : accesses.get("ops", Number.class);
+                String name = stats.getString("name");
+                boolean constraint = existing.stream().anyMatch(index -> name.equals(index.getString("name")) && isConstraint(index));
+                if (ops != null && ops.longValue() == 0 && !"_id_".equals(name) && !constraint) {
+                    report.unused().add(collection + "." + name + " (since " + accesses.get("since") + ")");
+                }
+            }
+        } catch (MongoException | org.springframework.dao.DataAccessException ex) {
+            log.debug("$indexStats unavailable for {}", collection, ex);
+        }
+    }
+
+    private List<Document> listIndexes(String collection) {
+        List<Document> indexes = new ArrayList<>();
+        if (mongoTemplate.collectionExists(collection)) {
+            mongoTemplate.getCollection(collection).listIndexes().into(indexes);
+        }
+        return indexes;
+    }
+
+    private static Document findByKey(List<Document> existing, Document key) {
+        return existing.stream().filter(index -> sameKey(index.get("key", Document.class), key)).findFirst().orElse(null);
+    }
+
+    // Unique and TTL indexes do work beyond serving queries, so they are never reported as removable
+    private static boolean isConstraint(Document index) {
+        return index.getBoolean("unique", false) || index.containsKey("expireAfterSeconds");
+    }
+
+    private static boolean sameOptions(Document existing, Document declared) {
+        return existing.getBoolean("unique", false) == declared.getBoolean("unique", false)
+                && existing.getBoolean("sparse", false) == declared.getBoolean("sparse", false)
+                && Objects.equals(seconds(existing.get("expireAfterSeconds")), seconds(declared.get("expireAfterSeconds")))
+                && Objects.equals(existing.get("partialFilterExpression"), declared.get("partialFilterExpression"));
+    }
+
+    private static Long seconds(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    static boolean sameKey(Document a, Document b) {
+        return keyEntries(a).equals(keyEntries(b));
+    }
+
+    static boolean isPrefix(Document shorter, Document longer) {
+        List<String> prefix = keyEntries(shorter);
+        List<String> full = keyEntries(longer);
+        return prefix.size() < full.size() && full.subList(0, prefix.size()).equals(prefix);
+    }
+
+    // Field order matters for an index key; Document.equals does not look at it, and servers may echo 1 as 1.0
+    private static List<String> keyEntries(Document key) {
+        List<String> entries = new ArrayList<>();
+        key.forEach((field, direction) -> entries.add(field + ":"
+                + (direction instanceof Number number ? String.valueOf(number.intValue()) : String.valueOf(direction))));
+        return entries;
+    }
+}
@@ -0,0 +1,73 @@
+package in.agampal.dishdashapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(name = "load-shedding.enabled", havingValue = "true", matchIfMissing = true)
+public class LoadSheddingConfig implements WebMvcConfigurer {
+
+    @Value("${load-shedding.initial-limit:100}")
+    private int initialLimit;
+
+    @Value("${load-shedding.min-limit:10}")
+    private int minLimit;
+
+    @Value("${load-shedding.max-limit:400}")
+    private int maxLimit;
+
+    @Value("${load-shedding.latency-target-ms:250}")
+    private long latencyTargetMillis;
+
+    @Value("${load-shedding.read-share:0.8}")
+    private double readShare;
+
+    @Value("${load-shedding.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${load-shedding.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private final MeterRegistry meterRegistry;
+
+    // Spring's mapper, so 503 bodies are written like every other error response
+    private final ObjectMapper objectMapper;
+
+    public LoadSheddingConfig(MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        this.meterRegistry = meterRegistry;
+        this.objectMapper = objectMapper;
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                latencyTargetMillis, readShare, backoffRatio);
+        Gauge.builder("http.server.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("http.server.concurrency.inflight", limiter, AdaptiveConcurrencyLimiter::getInflight)
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public LoadSheddingInterceptor loadSheddingInterceptor() {
+        return new LoadSheddingInterceptor(adaptiveConcurrencyLimiter(), retryAfterSeconds, meterRegistry, objectMapper);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Runs ahead of rate limiting so an overloaded node rejects before doing any bookkeeping
+        registry.addInterceptor(loadSheddingInterceptor())
+                .addPathPatterns("/api/**")
+                .excludePathPatterns("/api/health/**")
+                .order(Ordered.HIGHEST_PRECEDENCE);
+    }
+}
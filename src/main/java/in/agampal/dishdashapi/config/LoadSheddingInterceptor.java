@@ -0,0 +1,88 @@
+package in.agampal.dishdashapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.agampal.dishdashapi.dto.ApiResponse;
+import in.agampal.dishdashapi.filters.AccessLogFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+@Slf4j
+public class LoadSheddingInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = LoadSheddingInterceptor.class.getName() + ".start";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final String retryAfterSeconds;
+    private final Counter shedReads;
+    private final Counter shedWrites;
+    private final ObjectMapper objectMapper;
+
+    public LoadSheddingInterceptor(AdaptiveConcurrencyLimiter limiter, long retryAfterSeconds, MeterRegistry meterRegistry,
+                                   ObjectMapper objectMapper) {
+        this.limiter = limiter;
+        this.objectMapper = objectMapper;
+        this.retryAfterSeconds = String.valueOf(retryAfterSeconds);
+        this.shedReads = meterRegistry.counter("http.server.requests.shed", "priority", "read");
+        this.shedWrites = meterRegistry.counter("http.server.requests.shed", "priority", "write");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws Exception {
+        // The permit was released when the request went async; the re-dispatch is not new work
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        AdaptiveConcurrencyLimiter.Priority priority = priorityOf(request);
+        if (!limiter.tryAcquire(priority)) {
+            (priority == AdaptiveConcurrencyLimiter.Priority.READ ? shedReads : shedWrites).increment();
+            log.debug("Shedding {} {} at concurrency limit {}", request.getMethod(), request.getRequestURI(),
+                    (int) limiter.getLimit());
+            request.setAttribute(AccessLogFilter.REJECTED_ATTRIBUTE, "load-shedding");
+
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            ApiResponse<Object> errorResponse = ApiResponse.error(
+                    "Service is busy. Please try again shortly.",
+                    "SERVICE_OVERLOADED"
+            );
+            response.getWriter().write(objectMapper.writeValueAsString(errorResponse));
+            return false;
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start != null) {
+            request.removeAttribute(START_ATTRIBUTE);
+            limiter.onComplete(System.nanoTime() - (Long) start);
+        }
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Streams and other async handlers hold no request thread, so they should not hold a permit either
+        if (request.getAttribute(START_ATTRIBUTE) != null) {
+            request.removeAttribute(START_ATTRIBUTE);
+            limiter.release();
+        }
+    }
+
+    private AdaptiveConcurrencyLimiter.Priority priorityOf(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method)
+                ? AdaptiveConcurrencyLimiter.Priority.READ
+                : AdaptiveConcurrencyLimiter.Priority.WRITE;
+    }
+}
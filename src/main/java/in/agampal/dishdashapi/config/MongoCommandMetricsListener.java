@@ -0,0 +1,141 @@
+package in.agampal.dishdashapi.config;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every Mongo command as {@code mongodb.command}, tagged by collection, command, calling repository
+ * method and outcome, with percentile histograms. A sample of commands slower than the threshold is
+ * logged with its query shape (field names and operators, values replaced by {@code ?}).
+ */
+@Slf4j
+public class MongoCommandMetricsListener implements CommandListener {
+
+    private static final Set<String> UNTRACKED = Set.of("hello", "isMaster", "ping", "buildInfo", "saslStart",
+            "saslContinue", "getMore", "killCursors", "endSessions");
+
+    private record InFlight(String collection, String repositoryMethod, String shape) {}
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final double slowSampleRate;
+    private final Map<Integer, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public MongoCommandMetricsListener(MeterRegistry meterRegistry, Duration slowThreshold, double slowSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.slowSampleRate = slowSampleRate;
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        if (UNTRACKED.contains(event.getCommandName())) {
+            return;
+        }
+        BsonDocument command = event.getCommand();
+        BsonValue target = command.get(event.getCommandName());
+        String collection = target != null && target.isString() ? target.asString().getValue() : "none";
+        // The command document is only valid during this callback, so the shape of sampled commands is taken now
+        String shape = ThreadLocalRandom.current().nextDouble() < slowSampleRate ? shape(event.getCommandName(), command) : null;
+        inFlight.put(event.getRequestId(), new InFlight(collection, RepositoryMethodTagger.current(), shape));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        record(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), "success");
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        record(event.getRequestId(), event.getCommandName(), event.getElapsedTime(TimeUnit.NANOSECONDS), "failure");
+    }
+
+    private void record(int requestId, String commandName, long elapsedNanos, String status) {
+        InFlight started = inFlight.remove(requestId);
+        if (started == null) {
+            return;
+        }
+        Timer.builder("mongodb.command")
+                .description("MongoDB command latency")
+                .tag("collection", started.collection())
+                .tag("command", commandName)
+                .tag("repository", started.repositoryMethod())
+                .tag("status", status)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (elapsedNanos >= slowThresholdNanos && started.shape() != null) {
+            log.warn("Slow mongo {} on {} from {} took {} ms: {}", commandName, started.collection(),
+                    started.repositoryMethod(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos), started.shape());
+        }
+    }
+
+    static String shape(String commandName, BsonDocument command) {
+        BsonDocument shape = new BsonDocument();
+        switch (commandName) {
+            case "find" -> {
+                copyShape(command, "filter", shape);
+                copyShape(command, "sort", shape);
+                copyShape(command, "limit", shape);
+            }
+            case "count", "distinct", "findAndModify" -> copyShape(command, "query", shape);
+            case "update" -> firstStatement(command, "updates", "q", shape);
+            case "delete" -> firstStatement(command, "deletes", "q", shape);
+            case "aggregate" -> {
+                BsonArray stages = new BsonArray();
+                command.getArray("pipeline", new BsonArray()).forEach(stage -> stages.add(mask(stage)));
+                shape.put("pipeline", stages);
+            }
+            default -> {
+            }
+        }
+        return shape.toJson();
+    }
+
+    private static void copyShape(BsonDocument command, String field, BsonDocument shape) {
+        if (command.containsKey(field)) {
+            shape.put(field, field.equals("sort") ? command.get(field) : mask(command.get(field)));
+        }
+    }
+
+    private static void firstStatement(BsonDocument command, String array, String field, BsonDocument shape) {
+        BsonArray statements = command.getArray(array, new BsonArray());
+        if (!statements.isEmpty() && statements.get(0).isDocument()) {
+            copyShape(statements.get(0).asDocument(), field, shape);
+            shape.put("statements", new BsonInt32(statements.size()));
+        }
+    }
+
+    private static BsonValue mask(BsonValue value) {
+        if (value.isDocument()) {
+            BsonDocument masked = new BsonDocument();
+            value.asDocument().forEach((key, nested) -> masked.put(key, mask(nested)));
+            return masked;
+        }
+        if (value.isArray() && value.asArray().stream().anyMatch(BsonValue::isDocument)) {
+            BsonArray masked = new BsonArray();
+            value.asArray().forEach(nested -> masked.add(mask(nested)));
+            return masked;
+        }
+        return new BsonString("?");
+    }
+}
@@ -0,0 +1,45 @@
+package in.agampal.dishdashapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import java.time.Duration;
+
+/**
+ * Replaces Boot's built-in Mongo command metrics (disabled in application.properties) with
+ * {@link MongoCommandMetricsListener}, which also knows the repository method behind each command.
+ */
+@Configuration
+public class MongoMetricsConfig {
+
+    @Bean
+    public MongoCommandMetricsListener mongoCommandMetricsListener(MeterRegistry meterRegistry,
+                                                                   @Value("${mongo.metrics.slow-op-threshold-ms:100}") long slowThresholdMs,
+                                                                   @Value("${mongo.metrics.slow-op-sample-rate:0.1}") double slowSampleRate) {
+        return new MongoCommandMetricsListener(meterRegistry, Duration.ofMillis(slowThresholdMs), slowSampleRate);
+    }
+
+    @Bean
+    public MongoClientSettingsBuilderCustomizer mongoCommandMetricsCustomizer(MongoCommandMetricsListener listener) {
+        return builder -> builder.addCommandListener(listener);
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryMethodTagging() {
+        RepositoryMethodTagger tagger = new RepositoryMethodTagger();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(tagger));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,31 @@
+package in.agampal.dishdashapi.config;
+
+import in.agampal.dishdashapi.entity.RateLimitCounterEntity;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+
+public class MongoRateLimitStore implements RateLimitStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoRateLimitStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long increment(String key, long window, int permits, long windowMillis) {
+        // Keep the counter one extra window so late leases still see it
+        Instant expireAt = Instant.ofEpochMilli((window + 2) * windowMillis);
+        RateLimitCounterEntity counter = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(key + "|" + window)),
+                new Update().inc("count", permits).setOnInsert("expireAt", expireAt),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                RateLimitCounterEntity.class);
+        return counter.getCount();
+    }
+}
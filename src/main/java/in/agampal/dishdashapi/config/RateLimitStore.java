@@ -0,0 +1,13 @@
+package in.agampal.dishdashapi.config;
+
+/**
+ * Cluster-wide counter store behind {@link DistributedRateLimiter}.
+ */
+public interface RateLimitStore {
+
+    /**
+     * Atomically adds {@code permits} to the shared counter for {@code key} in {@code window} and
+     * returns the counter value after the increment.
+     */
+    long increment(String key, long window, int permits, long windowMillis);
+}
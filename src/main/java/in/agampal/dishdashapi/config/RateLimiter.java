@@ -0,0 +1,11 @@
+package in.agampal.dishdashapi.config;
+
+public interface RateLimiter {
+
+    boolean tryAcquire(String key);
+
+    /**
+     * Seconds a rejected client should wait, suitable for a {@code Retry-After} header.
+     */
+    long retryAfterSeconds();
+}
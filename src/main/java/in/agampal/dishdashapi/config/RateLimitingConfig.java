@@ -1,16 +1,76 @@
 package in.agampal.dishdashapi.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.agampal.dishdashapi.util.ExecutorFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class RateLimitingConfig implements WebMvcConfigurer {
 
+    @Value("${rate-limit.max-requests:100}")
+    private int maxRequests;
+
+    @Value("${rate-limit.window-ms:60000}")
+    private long windowMillis;
+
+    @Value("${rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${rate-limit.trust-forwarded-headers:false}")
+    private boolean trustForwardedHeaders;
+
+    // local: per-JVM sliding window; distributed: cluster-wide leases from a shared store
+    @Value("${rate-limit.mode:local}")
+    private String mode;
+
+    // mongo or memory (single JVM stand-in)
+    @Value("${rate-limit.distributed.store:mongo}")
+    private String store;
+
+    @Value("${rate-limit.distributed.batch-size:10}")
+    private int batchSize;
+
+    @Value("${rate-limit.distributed.store-timeout-ms:50}")
+    private long storeTimeoutMillis;
+
+    @Value("${rate-limit.distributed.degraded-backoff-ms:5000}")
+    private long degradedBackoffMillis;
+
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+
+    private final ExecutorFactory executorFactory;
+
+    // Spring's mapper, so 429 bodies are written like every other error response
+    private final ObjectMapper objectMapper;
+
+    public RateLimitingConfig(ObjectProvider<MongoTemplate> mongoTemplate, ExecutorFactory executorFactory, ObjectMapper objectMapper) {
+        this.mongoTemplate = mongoTemplate;
+        this.executorFactory = executorFactory;
+        this.objectMapper = objectMapper;
+    }
+
+    @Bean
+    public RateLimiter rateLimiter() {
+        SlidingWindowRateLimiter local = new SlidingWindowRateLimiter(maxRequests, windowMillis, maxKeys);
+        if (!"distributed".equalsIgnoreCase(mode)) {
+            return local;
+        }
+        RateLimitStore rateLimitStore = "memory".equalsIgnoreCase(store)
+                ? new InMemoryRateLimitStore()
+                : new MongoRateLimitStore(mongoTemplate.getObject());
+        return new DistributedRateLimiter(rateLimitStore, local, maxRequests, windowMillis,
+                batchSize, storeTimeoutMillis, degradedBackoffMillis, maxKeys, executorFactory.threadFactory("rate-limit-store"));
+    }
+
     @Bean
     public RateLimitingInterceptor rateLimitingInterceptor() {
-        return new RateLimitingInterceptor();
+        return new RateLimitingInterceptor(rateLimiter(), trustForwardedHeaders, objectMapper);
     }
 
     @Override
@@ -20,5 +80,3 @@ public class RateLimitingConfig implements WebMvcConfigurer {
                 .excludePathPatterns("/api/health/**");
     }
 }
-
-
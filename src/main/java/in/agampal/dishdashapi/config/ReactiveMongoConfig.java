@@ -0,0 +1,53 @@
+package in.agampal.dishdashapi.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import com.mongodb.reactivestreams.client.MongoClients;
+import in.agampal.dishdashapi.repository.ReactiveOrderRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.MongoConnectionDetails;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.SimpleReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.repository.config.EnableReactiveMongoRepositories;
+
+/**
+ * Reactive Mongo client, template and repositories for the NDJSON read path, created only with
+ * {@code reactive-reads.enabled=true}. Boot's reactive auto-configuration is excluded in application.properties
+ * so a disabled read path opens no second connection pool. The client takes the same customizers as the
+ * synchronous one (connection string, command metrics, pool metrics), so both pools show up side by side in
+ * {@code mongodb.driver.pool.*}, and the template shares the synchronous mapping context and conversions.
+ */
+@Configuration
+@ConditionalOnProperty(name = "reactive-reads.enabled", havingValue = "true")
+@EnableReactiveMongoRepositories(basePackageClasses = ReactiveOrderRepository.class)
+public class ReactiveMongoConfig {
+
+    @Bean(destroyMethod = "close")
+    public MongoClient reactiveMongoClient(ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers) {
+        MongoClientSettings.Builder settings = MongoClientSettings.builder();
+        customizers.orderedStream().forEach(customizer -> customizer.customize(settings));
+        return MongoClients.create(settings.build());
+    }
+
+    @Bean
+    public ReactiveMongoTemplate reactiveMongoTemplate(MongoClient reactiveMongoClient,
+                                                       MongoConnectionDetails connectionDetails,
+                                                       MongoMappingContext mappingContext,
+                                                       MongoCustomConversions conversions) {
+        SimpleReactiveMongoDatabaseFactory databaseFactory = new SimpleReactiveMongoDatabaseFactory(reactiveMongoClient,
+                connectionDetails.getConnectionString().getDatabase());
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext);
+        converter.setCustomConversions(conversions);
+        converter.setCodecRegistryProvider(databaseFactory);
+        converter.afterPropertiesSet();
+        return new ReactiveMongoTemplate(databaseFactory, converter);
+    }
+}
@@ -0,0 +1,43 @@
+package in.agampal.dishdashapi.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.core.support.RepositoryProxyPostProcessor;
+
+/**
+ * Records which repository method is running on the current thread, so Mongo commands issued by the
+ * synchronous driver on that thread can be attributed to it (e.g. {@code OrderRepository.findByUserId}).
+ */
+public class RepositoryMethodTagger implements RepositoryProxyPostProcessor {
+
+    public static final String NONE = "none";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    public static String current() {
+        String method = CURRENT.get();
+        return method != null ? method : NONE;
+    }
+
+    @Override
+    public void postProcess(ProxyFactory factory, RepositoryInformation repositoryInformation) {
+        String repository = repositoryInformation.getRepositoryInterface().getSimpleName();
+        factory.addAdvice(0, (MethodInterceptor) invocation -> invoke(repository, invocation));
+    }
+
+    private static Object invoke(String repository, MethodInvocation invocation) throws Throwable {
+        String outer = CURRENT.get();
+        // The outermost call wins: a fragment delegating to another method is still the method the caller used
+        if (outer != null) {
+            return invocation.proceed();
+        }
+        CURRENT.set(repository + "." + invocation.getMethod().getName());
+        try {
+            return invocation.proceed();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package in.agampal.dishdashapi.config;
 import in.agampal.dishdashapi.filters.JwtAuthenticationFilter;
 import in.agampal.dishdashapi.filters.JwtRefreshInterceptor;
 import in.agampal.dishdashapi.service.AppUserDetailsService;
+import jakarta.servlet.DispatcherType;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -29,6 +30,8 @@ import java.util.List;
 @AllArgsConstructor
 public class SecurityConfig {
 
+    public static final List<String> ALLOWED_ORIGINS = List.of("http://localhost:5173", "http://localhost:5174");
+
     private final AppUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final in.agampal.dishdashapi.filters.JwtRefreshInterceptor jwtRefreshInterceptor;
@@ -38,7 +41,15 @@ public class SecurityConfig {
         http
                 .cors(Customizer.withDefaults())
                 .csrf(AbstractHttpConfigurer::disable)
-                .authorizeHttpRequests(auth -> auth.requestMatchers("/api/auth/**", "/api/foods/**", "/api/orders/all", "/api/orders/status/**", "/api/health/**").permitAll()
+                .authorizeHttpRequests(auth -> auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        .requestMatchers("/api/auth/**", "/api/foods/**", "/api/health/**", "/livez", "/readyz").permitAll()
+                        // Only served on management.server.port, which is not exposed publicly
+                        .requestMatchers("/actuator/health/**", "/actuator/prometheus").permitAll()
+                        // Every user's orders and their payment updates, userId included, as a page or a stream
+                        .requestMatchers("/api/orders/all", "/api/orders/all/stream").hasRole("OPERATOR")
+                        // Single and bulk (up to 500 orders) status changes from the admin panel
+                        .requestMatchers("/api/orders/status/**").hasRole("OPERATOR")
+                        .requestMatchers("/actuator/jfr/**", "/actuator/pinning", "/actuator/indexes").hasRole("OPERATOR")
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtRefreshInterceptor, UsernamePasswordAuthenticationFilter.class)
@@ -58,7 +69,7 @@ public class SecurityConfig {
 
     private UrlBasedCorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration config = new CorsConfiguration();
-        config.setAllowedOrigins(List.of("http://localhost:5173", "http://localhost:5174"));
+        config.setAllowedOrigins(ALLOWED_ORIGINS);
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
         config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
         config.setAllowCredentials(true);
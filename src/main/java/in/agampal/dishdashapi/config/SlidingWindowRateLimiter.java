@@ -0,0 +1,128 @@
+package in.agampal.dishdashapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Sliding-window counter limiter. The count for a key is estimated as
+ * {@code previousWindow * (1 - elapsedFraction) + currentWindow}, which smooths the burst a fixed
+ * window allows at its edges.
+ * <p>
+ * Each key costs one {@link AtomicLong} packing {@code windowIndex(32) | current(16) | previous(16)},
+ * updated with a CAS loop, plus its last access time. Keys idle for two windows contribute nothing and are
+ * swept; once {@code maxKeys} is reached the least recently used tenth of the keys is evicted, so memory stays
+ * bounded under key floods and a flood of new keys costs an evicted key its count rather than every new
+ * client a 429.
+ */
+@Slf4j
+public class SlidingWindowRateLimiter implements RateLimiter {
+
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private static final class KeyState extends AtomicLong {
+        private volatile long lastAccessMillis;
+
+        private KeyState(long packed, long nowMillis) {
+            super(packed);
+            this.lastAccessMillis = nowMillis;
+        }
+    }
+
+    private final ConcurrentHashMap<String, KeyState> windows = new ConcurrentHashMap<>();
+    private final int maxRequests;
+    private final long windowMillis;
+    private final int maxKeys;
+
+    public SlidingWindowRateLimiter(int maxRequests, long windowMillis, int maxKeys) {
+        if (maxRequests <= 0 || maxRequests >= MAX_COUNT) {
+            throw new IllegalArgumentException("maxRequests must be between 1 and " + (MAX_COUNT - 1));
+        }
+        this.maxRequests = maxRequests;
+        this.windowMillis = windowMillis;
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        return tryAcquire(key, System.currentTimeMillis());
+    }
+
+    boolean tryAcquire(String key, long nowMillis) {
+        int window = (int) (nowMillis / windowMillis);
+        double elapsedFraction = (nowMillis % windowMillis) / (double) windowMillis;
+        KeyState state = stateFor(key, window, nowMillis);
+
+        while (true) {
+            long packed = state.get();
+            int stateWindow = (int) (packed >>> 32);
+            int current = (int) ((packed >>> 16) & MAX_COUNT);
+            int previous = (int) (packed & MAX_COUNT);
+            if (stateWindow != window) {
+                previous = stateWindow == window - 1 ? current : 0;
+                current = 0;
+            }
+            if (previous * (1 - elapsedFraction) + current >= maxRequests) {
+                return false;
+            }
+            long next = ((long) window << 32) | ((long) (current + 1) << 16) | previous;
+            if (state.compareAndSet(packed, next)) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public long retryAfterSeconds() {
+        long remaining = windowMillis - (System.currentTimeMillis() % windowMillis);
+        return Math.max(1, (remaining + 999) / 1000);
+    }
+
+    public int size() {
+        return windows.size();
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.sweep-interval-ms:60000}")
+    public void evictIdleKeys() {
+        evictIdle((int) (System.currentTimeMillis() / windowMillis));
+    }
+
+    private KeyState stateFor(String key, int window, long nowMillis) {
+        KeyState state = windows.get(key);
+        if (state != null) {
+            state.lastAccessMillis = nowMillis;
+            return state;
+        }
+        if (windows.size() >= maxKeys) {
+            evictIdle(window);
+            if (windows.size() >= maxKeys) {
+                evictLeastRecentlyUsed();
+            }
+        }
+        return windows.computeIfAbsent(key, k -> new KeyState(((long) window) << 32, nowMillis));
+    }
+
+    // One thread evicts a tenth of the table at a time, so a flood of new keys sorts the table once per
+    // maxKeys / 10 inserts instead of on every insert
+    private synchronized void evictLeastRecentlyUsed() {
+        if (windows.size() < maxKeys) {
+            return;
+        }
+        int toEvict = Math.max(1, maxKeys / 10);
+        log.warn("Rate limiter key table full ({} keys), evicting the {} least recently used", maxKeys, toEvict);
+        windows.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().lastAccessMillis))
+                .sorted(Map.Entry.comparingByValue())
+                .limit(toEvict)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(windows::remove);
+    }
+
+    private void evictIdle(int window) {
+        windows.values().removeIf(state -> (int) (state.get() >>> 32) < window - 1);
+    }
+}
@@ -0,0 +1,187 @@
+package in.agampal.dishdashapi.config;
+
+import in.agampal.dishdashapi.entity.OrderEntity;
+import in.agampal.dishdashapi.entity.UserEntity;
+import in.agampal.dishdashapi.io.FoodResponse;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.repository.OrderRepository;
+import in.agampal.dishdashapi.repository.UserRepository;
+import in.agampal.dishdashapi.service.AppUserDetailsService;
+import in.agampal.dishdashapi.service.FoodService;
+import in.agampal.dishdashapi.service.OrderService;
+import in.agampal.dishdashapi.service.UserService;
+import in.agampal.dishdashapi.util.ExecutorFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Provisions indexes and fills the hot caches once the application is up. The readiness probe reports
+ * OUT_OF_SERVICE (via {@link WarmupHealthIndicator}) until every task has finished, failed, or the timeout passed,
+ * so traffic is only routed to warm nodes.
+ */
+@Component
+@Slf4j
+public class StartupWarmup {
+
+    private final ObjectProvider<DatabaseConfig> databaseConfig;
+    private final ObjectProvider<IndexManager> indexManager;
+    private final FoodService foodService;
+    private final UserService userService;
+    private final AppUserDetailsService userDetailsService;
+    private final OrderService orderService;
+    private final OrderRepository orderRepository;
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+    private final ExecutorFactory executorFactory;
+
+    private final Map<String, String> tasks = new ConcurrentHashMap<>();
+    private volatile boolean complete;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+
+    @Value("${warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${warmup.threads:4}")
+    private int threads;
+
+    @Value("${warmup.recent-orders:1000}")
+    private int recentOrders;
+
+    @Value("${warmup.hot-users:200}")
+    private int hotUsers;
+
+    @Value("${warmup.timeout-ms:120000}")
+    private long timeoutMs;
+
+    public StartupWarmup(ObjectProvider<DatabaseConfig> databaseConfig, ObjectProvider<IndexManager> indexManager, FoodService foodService, UserService userService,
+                         AppUserDetailsService userDetailsService, OrderService orderService,
+                         OrderRepository orderRepository, UserRepository userRepository, CacheManager cacheManager,
+                         ExecutorFactory executorFactory) {
+        this.databaseConfig = databaseConfig;
+        this.indexManager = indexManager;
+        this.foodService = foodService;
+        this.userService = userService;
+        this.userDetailsService = userDetailsService;
+        this.orderService = orderService;
+        this.orderRepository = orderRepository;
+        this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
+        this.executorFactory = executorFactory;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        startedAt = System.currentTimeMillis();
+        if (!enabled) {
+            finish();
+            return;
+        }
+        ExecutorService executor = executorFactory.fixedPool("startup-warmup", threads);
+
+        // Both are absent under the perf profile, which runs on the in-memory repositories
+        CompletableFuture<Void> indexes = run("indexes", () -> {
+            databaseConfig.ifAvailable(DatabaseConfig::backfillOrderCreatedAt);
+            indexManager.ifAvailable(IndexManager::reconcile);
+        }, executor);
+        CompletableFuture<Void> menu = run("menu", this::warmMenu, executor);
+        CompletableFuture<Set<String>> hotUserIds = supply("recentOrders", this::findHotUserIds, executor)
+                .thenApply(ids -> ids != null ? ids : Set.<String>of());
+        CompletableFuture<Void> users = hotUserIds.thenComposeAsync(ids -> run("users", () -> warmUsers(ids), executor), executor);
+        CompletableFuture<Void> orders = hotUserIds.thenComposeAsync(ids -> run("orders", () -> orderService.preloadUserOrders(ids), executor), executor);
+
+        CompletableFuture.allOf(indexes, menu, users, orders)
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, ex) -> {
+                    if (ex != null) {
+                        log.warn("Startup warm-up did not finish within {} ms, accepting traffic anyway: {}", timeoutMs, tasks);
+                    }
+                    finish();
+                    executor.shutdown();
+                });
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public Map<String, Object> details() {
+        Map<String, Object> details = new LinkedHashMap<>(tasks);
+        long end = complete ? finishedAt : System.currentTimeMillis();
+        if (startedAt > 0) {
+            details.put("elapsedMs", end - startedAt);
+        }
+        return details;
+    }
+
+    private void warmMenu() {
+        List<FoodResponse> menu = foodService.readFoods();
+        Cache foods = cacheManager.getCache("foods");
+        // putIfAbsent never broadcasts, so starting a node does not flush the other nodes' near caches
+        menu.forEach(food -> foods.putIfAbsent(food.getId(), food));
+    }
+
+    // Users who ordered most recently are the ones most likely to be back within the cache TTL
+    private Set<String> findHotUserIds() {
+        Set<String> userIds = new LinkedHashSet<>();
+        for (OrderEntity order : orderRepository.findFeedPage(OrderFeedFilter.builder().build(), null, recentOrders)) {
+            if (order.getUserId() != null && userIds.size() < hotUsers) {
+                userIds.add(order.getUserId());
+            }
+        }
+        return userIds;
+    }
+
+    private void warmUsers(Set<String> userIds) {
+        List<UserEntity> users = userRepository.findAllById(userIds);
+        userDetailsService.preload(users);
+        userService.preloadUserIds(users);
+    }
+
+    private CompletableFuture<Void> run(String name, Runnable task, ExecutorService executor) {
+        return supply(name, () -> {
+            task.run();
+            return null;
+        }, executor);
+    }
+
+    // A failed task is reported and logged but never holds the node out of rotation
+    private <T> CompletableFuture<T> supply(String name, Supplier<T> task, ExecutorService executor) {
+        tasks.put(name, "RUNNING");
+        return CompletableFuture.supplyAsync(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                T result = task.get();
+                tasks.put(name, "DONE in " + (System.currentTimeMillis() - start) + " ms");
+                return result;
+            } catch (RuntimeException ex) {
+                log.warn("Startup warm-up task {} failed", name, ex);
+                tasks.put(name, "FAILED: " + ex.getMessage());
+                throw ex;
+            }
+        }, executor).exceptionally(ex -> null);
+    }
+
+    private void finish() {
+        finishedAt = System.currentTimeMillis();
+        complete = true;
+        log.info("Startup warm-up finished in {} ms: {}", finishedAt - startedAt, tasks);
+    }
+}
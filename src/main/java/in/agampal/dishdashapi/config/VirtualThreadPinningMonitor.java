@@ -0,0 +1,144 @@
+package in.agampal.dishdashapi.config;
+
+import in.agampal.dishdashapi.util.ExecutorFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In virtual-thread mode, listens for {@code jdk.VirtualThreadPinned}: a virtual thread that blocked while
+ * pinned to its carrier, typically inside a {@code synchronized} block or a native frame, for longer than
+ * {@code virtual-threads.pinning.threshold}. Each pinning is timed as {@code jvm.threads.virtual.pinned},
+ * tagged by site, and logged once per site with its stack. {@code /actuator/pinning} lists the sites by
+ * total pinned time.
+ * <p>
+ * The site is the innermost frame outside the JDK, which for pinning in a dependency is the library method
+ * holding the monitor; {@code applicationFrame} is the first caller in this code base.
+ */
+@Component
+@Endpoint(id = "pinning")
+@Slf4j
+public class VirtualThreadPinningMonitor {
+
+    public record PinnedSite(String site, String applicationFrame, long count, long totalMs, long maxMs, List<String> stackTrace) {
+    }
+
+    private static final class Site {
+        private final String applicationFrame;
+        private final List<String> stackTrace;
+        private final Timer timer;
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Site(String applicationFrame, List<String> stackTrace, Timer timer) {
+            this.applicationFrame = applicationFrame;
+            this.stackTrace = stackTrace;
+            this.timer = timer;
+        }
+    }
+
+    private static final String APPLICATION_PACKAGE = "in.agampal.dishdashapi.";
+    // Bounds the site tag; later sites are still counted, under "other"
+    private static final int MAX_SITES = 100;
+
+    private final ExecutorFactory executorFactory;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private RecordingStream stream;
+
+    @Value("${virtual-threads.pinning.enabled:true}")
+    private boolean enabled;
+
+    @Value("${virtual-threads.pinning.threshold:20ms}")
+    private Duration threshold;
+
+    public VirtualThreadPinningMonitor(ExecutorFactory executorFactory, MeterRegistry meterRegistry) {
+        this.executorFactory = executorFactory;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled || !executorFactory.isVirtualThreads()) {
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::record);
+        stream.startAsync();
+        log.info("Watching for virtual threads pinned longer than {} ms", threshold.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+
+    @ReadOperation
+    public List<PinnedSite> pinnedSites() {
+        return sites.entrySet().stream()
+                .map(entry -> new PinnedSite(entry.getKey(), entry.getValue().applicationFrame, entry.getValue().count.get(),
+                        entry.getValue().totalNanos.get() / 1_000_000, entry.getValue().maxNanos.get() / 1_000_000,
+                        entry.getValue().stackTrace))
+                .sorted(Comparator.comparingLong(PinnedSite::totalMs).reversed())
+                .toList();
+    }
+
+    void record(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        String site = frames.stream().filter(VirtualThreadPinningMonitor::outsideJdk).findFirst()
+                .map(VirtualThreadPinningMonitor::describe).orElse("(jdk)");
+        if (!sites.containsKey(site) && sites.size() >= MAX_SITES) {
+            site = "other";
+        }
+        Site stats = sites.computeIfAbsent(site, key -> newSite(key, frames));
+        long nanos = event.getDuration().toNanos();
+        stats.count.incrementAndGet();
+        stats.totalNanos.addAndGet(nanos);
+        stats.maxNanos.accumulateAndGet(nanos, Math::max);
+        stats.timer.record(event.getDuration());
+    }
+
+    private Site newSite(String site, List<RecordedFrame> frames) {
+        String applicationFrame = frames.stream()
+                .filter(frame -> frame.isJavaFrame() && frame.getMethod().getType().getName().startsWith(APPLICATION_PACKAGE))
+                .findFirst().map(VirtualThreadPinningMonitor::describe).orElse(null);
+        List<String> stackTrace = frames.stream().limit(30).map(VirtualThreadPinningMonitor::describe).toList();
+        log.warn("Virtual thread pinned to its carrier at {} (called from {}):\n\t{}", site, applicationFrame,
+                String.join("\n\t", stackTrace));
+        Timer timer = Timer.builder("jvm.threads.virtual.pinned")
+                .description("Time virtual threads spent blocked while pinned to a carrier thread")
+                .tag("site", site)
+                .register(meterRegistry);
+        return new Site(applicationFrame, stackTrace, timer);
+    }
+
+    private static boolean outsideJdk(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return frame.isJavaFrame() && !type.startsWith("java.") && !type.startsWith("jdk.")
+                && !type.startsWith("sun.") && !type.startsWith("com.sun.");
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
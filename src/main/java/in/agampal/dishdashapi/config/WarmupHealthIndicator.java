@@ -0,0 +1,24 @@
+package in.agampal.dishdashapi.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Part of the readiness group: OUT_OF_SERVICE until the startup warm-up has finished.
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final StartupWarmup startupWarmup;
+
+    public WarmupHealthIndicator(StartupWarmup startupWarmup) {
+        this.startupWarmup = startupWarmup;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = startupWarmup.isComplete() ? Health.up() : Health.outOfService();
+        return builder.withDetails(startupWarmup.details()).build();
+    }
+}
@@ -30,7 +30,7 @@ public class AuthController {
     public ResponseEntity<ApiResponse<TokenRefreshResponse>> login(
             @Valid @RequestBody AuthenticationRequest request) {
         try {
-            log.info("Login attempt for email: {}", request.getEmail());
+            log.debug("Login attempt for email: {}", request.getEmail());
             authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword()));
             final UserDetails userDetails = userDetailsService.loadUserByUsername(request.getEmail());
@@ -45,7 +45,7 @@ public class AuthController {
                     .expiresIn(86400) // 24 hours in seconds
                     .build();
             
-            log.info("Login successful for email: {}", request.getEmail());
+            log.debug("Login successful for email: {}", request.getEmail());
             return ResponseEntity.ok(ApiResponse.success(response, "Login successful"));
         } catch (Exception e) {
             log.error("Login failed for email: {}", request.getEmail(), e);
@@ -62,7 +62,7 @@ public class AuthController {
                 refreshToken = refreshToken.substring(7);
             }
             
-            log.info("Token refresh attempt");
+            log.debug("Token refresh attempt");
             
             // Extract username from refresh token
             String username = jwtUtil.extractUsername(refreshToken);
@@ -85,7 +85,7 @@ public class AuthController {
                     .expiresIn(86400) // 24 hours in seconds
                     .build();
             
-            log.info("Token refresh successful for user: {}", username);
+            log.debug("Token refresh successful for user: {}", username);
             return ResponseEntity.ok(ApiResponse.success(response, "Token refreshed successfully"));
             
         } catch (Exception e) {
@@ -99,7 +99,7 @@ public class AuthController {
     @PostMapping("/register")
     public ResponseEntity<ApiResponse<AuthenticationResponse>> register(
             @Valid @RequestBody AuthenticationRequest request) {
-        log.info("Registration attempt for email: {}", request.getEmail());
+        log.debug("Registration attempt for email: {}", request.getEmail());
         // TODO: implement user creation + token generation
         return ResponseEntity.ok(ApiResponse.success(null, "Registration endpoint - implementation needed"));
     }
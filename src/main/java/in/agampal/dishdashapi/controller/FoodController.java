@@ -53,7 +53,7 @@ public class FoodController {
             @Parameter(description = "Food image file", required = true)
             @RequestPart("file") MultipartFile file) {
         try {
-            log.info("Adding new food item");
+            log.debug("Adding new food item");
             
             // Validate file
             if (file.isEmpty()) {
@@ -86,9 +86,9 @@ public class FoodController {
     @GetMapping
     public ResponseEntity<ApiResponse<List<FoodResponse>>> readFoods() {
         try {
-            log.info("Fetching all food items");
+            log.debug("Fetching all food items");
             List<FoodResponse> foods = foodService.readFoods();
-            log.info("Successfully fetched {} food items", foods.size());
+            log.debug("Successfully fetched {} food items", foods.size());
             return ResponseEntity.ok(ApiResponse.success(foods, "Food items retrieved successfully"));
         } catch (Exception ex) {
             log.error("Error fetching food items", ex);
@@ -99,9 +99,9 @@ public class FoodController {
     @GetMapping("/{id}")
     public ResponseEntity<ApiResponse<FoodResponse>> readFood(@PathVariable String id) {
         try {
-            log.info("Fetching food item with ID: {}", id);
+            log.debug("Fetching food item with ID: {}", id);
             FoodResponse food = foodService.readFood(id);
-            log.info("Successfully fetched food item: {}", food.getName());
+            log.debug("Successfully fetched food item: {}", food.getName());
             return ResponseEntity.ok(ApiResponse.success(food, "Food item retrieved successfully"));
         } catch (ResourceNotFoundException ex) {
             log.warn("Food item not found with ID: {}", id);
@@ -115,7 +115,7 @@ public class FoodController {
     @DeleteMapping("/{id}")
     public ResponseEntity<ApiResponse<Void>> deleteFood(@PathVariable String id) {
         try {
-            log.info("Deleting food item with ID: {}", id);
+            log.debug("Deleting food item with ID: {}", id);
             foodService.deleteFood(id);
             log.info("Food item deleted successfully with ID: {}", id);
             return ResponseEntity.ok(ApiResponse.success(null, "Food item deleted successfully"));
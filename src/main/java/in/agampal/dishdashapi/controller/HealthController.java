@@ -42,7 +42,7 @@ public class HealthController {
             response.put("database", "MongoDB");
             response.put("userCount", userCount);
             response.put("message", "MongoDB connection is working");
-            log.info("MongoDB health check successful. User count: {}", userCount);
+            log.debug("MongoDB health check successful. User count: {}", userCount);
             return ResponseEntity.ok(ApiResponse.success(response, "MongoDB is healthy"));
         } catch (Exception e) {
             response.put("status", "DOWN");
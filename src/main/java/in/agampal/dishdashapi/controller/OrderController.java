@@ -1,13 +1,24 @@
 package in.agampal.dishdashapi.controller;
 
 import com.razorpay.RazorpayException;
+import in.agampal.dishdashapi.io.BulkStatusUpdateResponse;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.io.OrderPageResponse;
 import in.agampal.dishdashapi.io.OrderRequest;
 import in.agampal.dishdashapi.io.OrderResponse;
+import in.agampal.dishdashapi.io.OrderStatusUpdate;
 import in.agampal.dishdashapi.service.OrderService;
+import in.agampal.dishdashapi.service.OrderStreamService;
+import in.agampal.dishdashapi.service.PaymentVerificationService;
+import in.agampal.dishdashapi.service.UserService;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -17,6 +28,9 @@ import java.util.Map;
 public class OrderController {
 
     private final OrderService orderService;
+    private final OrderStreamService orderStreamService;
+    private final PaymentVerificationService paymentVerificationService;
+    private final UserService userService;
 
     @PostMapping("/create")
     @ResponseStatus(HttpStatus.CREATED)
@@ -26,13 +40,20 @@ public class OrderController {
     }
 
     @PostMapping("/verify")
+    @ResponseStatus(HttpStatus.ACCEPTED)
     public void verifyPayment(@RequestBody Map<String, String> paymentData) {
-        orderService.verifyPayment(paymentData, "Paid");
+        paymentVerificationService.submit(paymentData);
     }
 
     @GetMapping
-    public List<OrderResponse> getOrders() {
-        return orderService.getUserOrders();
+    public OrderPageResponse getOrders(@RequestParam(required = false) String cursor,
+                                       @RequestParam(defaultValue = "20") int size) {
+        return orderService.getUserOrders(cursor, size);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamOrders() {
+        return orderStreamService.subscribeUser(userService.findByUserId());
     }
 
     @DeleteMapping("/{orderId}")
@@ -43,13 +64,37 @@ public class OrderController {
 
     //admin panel
     @GetMapping("/all")
-    public List<OrderResponse> getOrdersOfAllUsers() {
-        return orderService.getOrdersOfAllUsers();
+    public OrderPageResponse getOrdersOfAllUsers(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String paymentStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        OrderFeedFilter filter = OrderFeedFilter.builder()
+                .orderStatus(status)
+                .paymentStatus(paymentStatus)
+                .from(from)
+                .to(to)
+                .build();
+        return orderService.getOrdersOfAllUsers(filter, cursor, size);
+    }
+
+    //admin panel
+    @GetMapping(value = "/all/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAllOrders() {
+        return orderStreamService.subscribeAdmin();
     }
 
     //admin panel
     @PatchMapping("/status/{orderId}")
-    public void updateOrderStatus(@PathVariable String orderId, @RequestParam String status) {
-        orderService.updateOrderStatus(orderId, status);
+    public OrderResponse updateOrderStatus(@PathVariable String orderId, @RequestParam String status) {
+        return orderService.updateOrderStatus(orderId, status);
+    }
+
+    //admin panel
+    @PatchMapping("/status/bulk")
+    public BulkStatusUpdateResponse updateOrderStatuses(@RequestBody List<OrderStatusUpdate> updates) {
+        return orderService.updateOrderStatuses(updates);
     }
 }
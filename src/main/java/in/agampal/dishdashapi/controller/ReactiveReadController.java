@@ -0,0 +1,68 @@
+package in.agampal.dishdashapi.controller;
+
+import in.agampal.dishdashapi.io.FoodResponse;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.io.OrderResponse;
+import in.agampal.dishdashapi.service.ReactiveReadService;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+/**
+ * Reactive variants of the read-heavy endpoints, chosen per request with {@code Accept: application/x-ndjson}
+ * while {@code reactive-reads.enabled=true}; plain JSON requests still go to FoodController and OrderController.
+ * Each row is written as one JSON line as soon as the driver returns it, and the next is requested only after
+ * the previous write, so a slow client holds back the Mongo cursor instead of buffering the result.
+ */
+@RestController
+@ConditionalOnProperty(name = "reactive-reads.enabled", havingValue = "true")
+@AllArgsConstructor
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5174"})
+public class ReactiveReadController {
+
+    private final ReactiveReadService reactiveReadService;
+
+    @GetMapping(value = "/api/foods", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<FoodResponse> readFoods() {
+        return reactiveReadService.readFoods();
+    }
+
+    // A Flux rather than a Mono: MVC only streams multi-value types as NDJSON
+    @GetMapping(value = "/api/foods/{id}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<FoodResponse> readFood(@PathVariable String id) {
+        return reactiveReadService.readFood(id).flux();
+    }
+
+    @GetMapping(value = "/api/orders", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderResponse> getOrders(@RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "1000") int limit) {
+        return reactiveReadService.readUserOrders(cursor, limit);
+    }
+
+    //admin panel
+    @GetMapping(value = "/api/orders/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderResponse> getOrdersOfAllUsers(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String paymentStatus,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "1000") int limit) {
+        OrderFeedFilter filter = OrderFeedFilter.builder()
+                .orderStatus(status)
+                .paymentStatus(paymentStatus)
+                .from(from)
+                .to(to)
+                .build();
+        return reactiveReadService.readOrdersOfAllUsers(filter, cursor, limit);
+    }
+}
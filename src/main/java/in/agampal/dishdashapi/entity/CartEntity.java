@@ -5,6 +5,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.HashMap;
@@ -18,6 +19,7 @@ import java.util.Map;
 public class CartEntity {
     @Id
     private String id;
+    @Indexed
     private String userId;
     private Map<String, Integer> items = new HashMap<>();
 
@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
@@ -12,6 +14,10 @@ import org.springframework.data.mongodb.core.mapping.Document;
 @AllArgsConstructor
 @NoArgsConstructor
 @Document(collection = "foods")
+@CompoundIndexes({
+        @CompoundIndex(name = "category_price", def = "{'category': 1, 'price': 1}"),
+        @CompoundIndex(name = "name_description", def = "{'name': 1, 'description': 1}")
+})
 public class FoodEntity {
     @Id
     private String id;
@@ -4,11 +4,25 @@ import in.agampal.dishdashapi.io.OrderItem;
 import lombok.Builder;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.Instant;
 import java.util.List;
 
 @Document(collection = "orders")
+@CompoundIndexes({
+        // Per-user order history, newest first; its userId prefix also serves plain findByUserId lookups
+        @CompoundIndex(name = "userId_createdAt_id", def = "{'userId': 1, 'createdAt': -1, '_id': -1}"),
+        // Keyset indexes for the admin order feed, one per filter, all ending in the (createdAt, _id) sort key
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "orderStatus_createdAt_id", def = "{'orderStatus': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "paymentStatus_createdAt_id", def = "{'paymentStatus': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "orderStatus_paymentStatus_createdAt_id",
+                def = "{'orderStatus': 1, 'paymentStatus': 1, 'createdAt': -1, '_id': -1}")
+})
 @Data
 @Builder
 public class OrderEntity {
@@ -21,8 +35,11 @@ public class OrderEntity {
     private List<OrderItem> orderedItems;
     private double amount;
     private String paymentStatus;
+    // Sparse: orders are saved once before the gateway order exists
+    @Indexed(name = "razorpayOrderId_unique", unique = true, sparse = true)
     private String razorpayOrderId;
     private String razorpaySignature;
     private String razorpayPaymentId;
     private String orderStatus;
+    private Instant createdAt;
 }
@@ -0,0 +1,118 @@
+package in.agampal.dishdashapi.entity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Order lifecycle. The label is what is stored in {@link OrderEntity#getOrderStatus()} and shown
+ * by the admin panel; aliases cover values written before the lifecycle was enforced. Stored values that
+ * match no label or alias are treated as the initial state, so such orders can still move on.
+ */
+public enum OrderStatus {
+    PREPARING("Food Preparing", "Preparing"),
+    OUT_FOR_DELIVERY("Out for delivery"),
+    DELIVERED("Delivered"),
+    CANCELLED("Cancelled");
+
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        allow(PREPARING, OUT_FOR_DELIVERY, CANCELLED);
+        allow(OUT_FOR_DELIVERY, DELIVERED, CANCELLED);
+        allow(DELIVERED);
+        allow(CANCELLED);
+    }
+
+    private final String label;
+    private final List<String> aliases;
+
+    OrderStatus(String label, String... aliases) {
+        this.label = label;
+        this.aliases = List.of(aliases);
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public static OrderStatus initial() {
+        return PREPARING;
+    }
+
+    public boolean canTransitionTo(OrderStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+
+    /**
+     * Stored values an order may currently hold for a move to this status to be legal.
+     * Contains {@code null} when the initial state is a predecessor, so orders with no status match.
+     */
+    public List<String> predecessorValues() {
+        List<String> result = new ArrayList<>();
+        for (OrderStatus candidate : values()) {
+            if (candidate.canTransitionTo(this)) {
+                result.add(candidate.label);
+                result.addAll(candidate.aliases);
+                if (candidate == initial()) {
+                    result.add(null);
+                }
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Every label and alias, exactly as stored.
+     */
+    public static List<String> knownValues() {
+        List<String> result = new ArrayList<>();
+        for (OrderStatus status : values()) {
+            result.add(status.label);
+            result.addAll(status.aliases);
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Whether orders holding a stored value outside {@link #knownValues()} may move to this status.
+     */
+    public boolean acceptsUnknownValues() {
+        return initial().canTransitionTo(this);
+    }
+
+    /**
+     * Whether an order currently holding {@code storedValue} may move to this status. Matches exactly,
+     * like the conditional update in the repository.
+     */
+    public boolean canBeReachedFrom(String storedValue) {
+        if (predecessorValues().contains(storedValue)) {
+            return true;
+        }
+        return storedValue != null && acceptsUnknownValues() && !knownValues().contains(storedValue);
+    }
+
+    public static Optional<OrderStatus> from(String value) {
+        if (value == null) {
+            return Optional.empty();
+        }
+        String trimmed = value.trim();
+        return Arrays.stream(values())
+                .filter(status -> status.name().equalsIgnoreCase(trimmed)
+                        || status.label.equalsIgnoreCase(trimmed)
+                        || status.aliases.stream().anyMatch(alias -> alias.equalsIgnoreCase(trimmed)))
+                .findFirst();
+    }
+
+    private static void allow(OrderStatus from, OrderStatus... to) {
+        Set<OrderStatus> next = EnumSet.noneOf(OrderStatus.class);
+        next.addAll(Arrays.asList(to));
+        TRANSITIONS.put(from, Collections.unmodifiableSet(next));
+    }
+}
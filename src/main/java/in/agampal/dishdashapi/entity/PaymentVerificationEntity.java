@@ -0,0 +1,30 @@
+package in.agampal.dishdashapi.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * A payment callback accepted but not yet applied. Stored before it is acknowledged so queued
+ * verifications survive a restart, and removed once processed.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "payment_verifications")
+public class PaymentVerificationEntity {
+    @Id
+    private String id;
+    private String razorpayOrderId;
+    private String razorpayPaymentId;
+    private String razorpaySignature;
+    @Indexed
+    private Instant receivedAt;
+}
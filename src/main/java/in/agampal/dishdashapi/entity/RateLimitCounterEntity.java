@@ -0,0 +1,27 @@
+package in.agampal.dishdashapi.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Shared permit counter for one rate-limit key in one window. Expired windows are removed by the TTL index.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "rate_limit_counters")
+public class RateLimitCounterEntity {
+    @Id
+    private String id;
+    private long count;
+    @Indexed(expireAfter = "0s")
+    private Instant expireAt;
+}
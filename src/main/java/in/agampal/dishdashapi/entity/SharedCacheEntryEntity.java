@@ -0,0 +1,26 @@
+package in.agampal.dishdashapi.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "cache_entries")
+public class SharedCacheEntryEntity {
+    @Id
+    private String id;
+    @Indexed
+    private String cacheName;
+    private Object value;
+    @Indexed(expireAfter = "0s")
+    private Instant expireAt;
+}
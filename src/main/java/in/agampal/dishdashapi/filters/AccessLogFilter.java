@@ -0,0 +1,134 @@
+package in.agampal.dishdashapi.filters;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.event.Level;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One structured line per request on the {@code access} logger: method, route template, status and duration as
+ * key-value fields. Requests that end below 500 are logged at the rate configured for their route under
+ * {@code access-log.sample-rates} (default {@code access-log.sample-rate}); server errors and requests that
+ * threw are always logged. Requests turned away on purpose by load shedding or rate limiting (marked with
+ * {@link #REJECTED_ATTRIBUTE}) are expected under overload, so they are logged at WARN and sampled at
+ * {@code access-log.rejected-sample-rate} instead. Async requests (SSE, NDJSON) are logged when they complete.
+ * Ordered ahead of the security chain and the catalog fast lane, so rejected and fast-lane requests are covered too.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(name = "access-log.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j(topic = "access")
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    // Set to the reason by interceptors that reject a request deliberately, e.g. with a 503 or 429
+    public static final String REJECTED_ATTRIBUTE = AccessLogFilter.class.getName() + ".rejected";
+
+    private final double defaultSampleRate;
+    private final double rejectedSampleRate;
+    private final Map<String, Double> sampleRates;
+
+    public AccessLogFilter(Environment environment, @Value("${access-log.sample-rate:0.05}") double defaultSampleRate,
+                           @Value("${access-log.rejected-sample-rate:0.01}") double rejectedSampleRate) {
+        this.defaultSampleRate = defaultSampleRate;
+        this.rejectedSampleRate = rejectedSampleRate;
+        this.sampleRates = Binder.get(environment)
+                .bind("access-log.sample-rates", Bindable.mapOf(String.class, Double.class))
+                .orElse(Map.of());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long startedAt = System.nanoTime();
+        Throwable failure = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException | Error ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            if (failure == null && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    private Throwable asyncFailure;
+
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        log(request, asyncFailure == null ? response.getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                                startedAt, asyncFailure);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    // Followed by onComplete, which writes the line
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        asyncFailure = event.getThrowable();
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                    }
+                });
+            } else {
+                log(request, failure == null ? response.getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR, startedAt, failure);
+            }
+        }
+    }
+
+    private void log(HttpServletRequest request, int status, long startedAt, Throwable failure) {
+        Object rejectedBy = request.getAttribute(REJECTED_ATTRIBUTE);
+        boolean error = failure != null || (status >= 500 && rejectedBy == null);
+        String route = routeOf(request);
+        double rate = error ? 1.0 : rejectedBy != null ? rejectedSampleRate : sampleRates.getOrDefault(route, defaultSampleRate);
+        if (rate <= 0 || (rate < 1 && ThreadLocalRandom.current().nextDouble() >= rate)) {
+            return;
+        }
+        long durationMs = (System.nanoTime() - startedAt) / 1_000_000;
+        LoggingEventBuilder event = log.atLevel(error ? Level.ERROR : status >= 400 ? Level.WARN : Level.INFO)
+                .addKeyValue("method", request.getMethod())
+                .addKeyValue("route", route)
+                .addKeyValue("uri", request.getRequestURI())
+                .addKeyValue("status", status)
+                .addKeyValue("durationMs", durationMs)
+                .addKeyValue("sampleRate", rate);
+        if (failure != null) {
+            event = event.addKeyValue("exception", failure.getClass().getName());
+        } else if (rejectedBy != null) {
+            event = event.addKeyValue("rejectedBy", rejectedBy);
+        }
+        event.log("{} {} {} {} ms", request.getMethod(), route, status, durationMs);
+    }
+
+    // The fast lane sets the route on the observation context itself; MVC sets both
+    private static String routeOf(HttpServletRequest request) {
+        String route = ServerHttpObservationFilter.findObservationContext(request)
+                .map(ServerRequestObservationContext::getPathPattern)
+                .orElse(null);
+        if (route == null) {
+            route = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        }
+        return route == null ? "UNKNOWN" : route;
+    }
+}
@@ -0,0 +1,107 @@
+package in.agampal.dishdashapi.filters;
+
+import in.agampal.dishdashapi.config.SecurityConfig;
+import in.agampal.dishdashapi.service.CatalogSnapshot;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+
+import java.io.IOException;
+
+/**
+ * Answers anonymous {@code GET /api/foods} and {@code GET /api/foods/{id}} from {@link CatalogSnapshot} before the
+ * security chain, so they skip JWT parsing, security context setup, the MVC interceptors (rate limiting included)
+ * and controller logging, and write pre-serialized bytes without touching Jackson. Requests with an
+ * {@code Authorization} header, an origin outside the CORS list, an NDJSON Accept header or an id missing from the
+ * snapshot continue down the regular chain. Ordered after Boot's observation filter, so they still count in
+ * {@code http.server.requests} under their route.
+ * <p>
+ * Because the rate limiting and load shedding interceptors never see them, anonymous catalog reads are neither
+ * rate-limited nor load-shed; serving them from memory is cheaper than rejecting them would be.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(name = "catalog.fast-lane.enabled", havingValue = "true", matchIfMissing = true)
+public class CatalogFastLaneFilter extends OncePerRequestFilter {
+
+    private static final String MENU_PATH = "/api/foods";
+    private static final String FOOD_PATH_PREFIX = "/api/foods/";
+    // What Spring Security's default header writers add on the regular chain
+    private static final String HSTS = "max-age=31536000 ; includeSubDomains";
+
+    private final CatalogSnapshot catalogSnapshot;
+
+    public CatalogFastLaneFilter(CatalogSnapshot catalogSnapshot) {
+        this.catalogSnapshot = catalogSnapshot;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        if (!eligible(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String path = request.getContextPath().isEmpty()
+                ? request.getRequestURI()
+                : request.getRequestURI().substring(request.getContextPath().length());
+        CatalogSnapshot.Entry entry = null;
+        String pattern = null;
+        if (MENU_PATH.equals(path)) {
+            entry = catalogSnapshot.menu();
+            pattern = MENU_PATH;
+        } else if (path.startsWith(FOOD_PATH_PREFIX) && path.length() > FOOD_PATH_PREFIX.length()
+                && path.indexOf('/', FOOD_PATH_PREFIX.length()) < 0) {
+            entry = catalogSnapshot.food(path.substring(FOOD_PATH_PREFIX.length()));
+            pattern = "/api/foods/{id}";
+        }
+        String origin = request.getHeader(HttpHeaders.ORIGIN);
+        if (entry == null || (origin != null && !SecurityConfig.ALLOWED_ORIGINS.contains(origin))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String route = pattern;
+        ServerHttpObservationFilter.findObservationContext(request).ifPresent(context -> context.setPathPattern(route));
+        if (origin != null) {
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, origin);
+            response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+        }
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ORIGIN);
+        response.setHeader(HttpHeaders.ETAG, entry.etag());
+        // Revalidated with the ETag instead of the chain's no-store
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+        response.setHeader("X-XSS-Protection", "0");
+        response.setHeader("X-Frame-Options", "DENY");
+        if (request.isSecure()) {
+            response.setHeader("Strict-Transport-Security", HSTS);
+        }
+        if (entry.etag().equals(request.getHeader(HttpHeaders.IF_NONE_MATCH))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(entry.body().length);
+        response.getOutputStream().write(entry.body());
+    }
+
+    private static boolean eligible(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod()) || request.getHeader(HttpHeaders.AUTHORIZATION) != null) {
+            return false;
+        }
+        // NDJSON belongs to the reactive read path; anything not asking for JSON gets the regular negotiation
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+        return accept == null
+                || (!accept.contains("ndjson") && (accept.contains(MediaType.APPLICATION_JSON_VALUE) || accept.contains("*/*")));
+    }
+}
@@ -71,7 +71,7 @@ public class JwtRefreshInterceptor extends OncePerRequestFilter {
                     response.setHeader("X-New-Access-Token", newAccessToken);
                     response.setHeader("X-Token-Refreshed", "true");
 
-                    log.info("Token automatically refreshed for user: {}", username);
+                    log.debug("Token automatically refreshed for user: {}", username);
                     filterChain.doFilter(request, response);
                 } else {
                     sendError(response, "Refresh token expired or invalid. Please login again.", "REFRESH_TOKEN_EXPIRED");
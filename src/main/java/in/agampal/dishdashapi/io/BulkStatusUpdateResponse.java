@@ -0,0 +1,18 @@
+package in.agampal.dishdashapi.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusUpdateResponse {
+    private int requested;
+    private int applied;
+    private List<String> rejectedOrderIds;
+}
@@ -0,0 +1,7 @@
+package in.agampal.dishdashapi.io;
+
+/**
+ * Published after a dish is added or deleted on this node.
+ */
+public record CatalogChangedEvent(String foodId) {
+}
@@ -0,0 +1,20 @@
+package in.agampal.dishdashapi.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderFeedFilter {
+    private String userId;
+    private String orderStatus;
+    private String paymentStatus;
+    private Instant from; // inclusive
+    private Instant to; // exclusive
+}
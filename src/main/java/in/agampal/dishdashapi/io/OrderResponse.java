@@ -4,6 +4,7 @@ package in.agampal.dishdashapi.io;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.Instant;
 import java.util.List;
 
 @Data
@@ -19,4 +20,5 @@ public class OrderResponse {
     private String razorpayOrderId;
     private String orderStatus;
     private List<OrderItem> orderedItems;
+    private Instant createdAt;
 }
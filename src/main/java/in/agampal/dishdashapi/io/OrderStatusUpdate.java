@@ -0,0 +1,15 @@
+package in.agampal.dishdashapi.io;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class OrderStatusUpdate {
+    private String orderId;
+    private String status;
+}
@@ -4,6 +4,7 @@ import in.agampal.dishdashapi.entity.CartEntity;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +13,6 @@ public interface CartRespository extends MongoRepository<CartEntity, String> {
     Optional<CartEntity> findByUserId(String userId);
 
     void deleteByUserId(String userId);
+
+    void deleteByUserIdIn(Collection<String> userIds);
 }
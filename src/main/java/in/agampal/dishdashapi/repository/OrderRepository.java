@@ -4,11 +4,13 @@ import in.agampal.dishdashapi.entity.OrderEntity;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends MongoRepository<OrderEntity, String> {
+public interface OrderRepository extends MongoRepository<OrderEntity, String>, OrderRepositoryCustom {
     List<OrderEntity> findByUserId(String userId);
     Optional<OrderEntity> findByRazorpayOrderId(String razorpayOrderId);
+    List<OrderEntity> findByRazorpayOrderIdIn(Collection<String> razorpayOrderIds);
 }
@@ -0,0 +1,36 @@
+package in.agampal.dishdashapi.repository;
+
+import in.agampal.dishdashapi.entity.OrderEntity;
+import in.agampal.dishdashapi.entity.OrderStatus;
+import in.agampal.dishdashapi.entity.PaymentVerificationEntity;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.util.OrderCursor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public interface OrderRepositoryCustom {
+
+    /**
+     * Returns up to {@code limit} orders matching the filter, newest first, strictly after the cursor.
+     */
+    List<OrderEntity> findFeedPage(OrderFeedFilter filter, OrderCursor after, int limit);
+
+    /**
+     * Atomically moves the order to {@code target} if its current status is a legal predecessor.
+     * Returns the updated order, or empty if the order is missing or the transition is illegal.
+     */
+    Optional<OrderEntity> transitionStatus(String orderId, OrderStatus target);
+
+    /**
+     * Applies many conditional transitions in one unordered bulk write. Returns the number applied.
+     */
+    int transitionStatuses(Map<String, OrderStatus> targets);
+
+    /**
+     * Records verified payments against their orders in one unordered bulk write, matched by Razorpay order id.
+     */
+    int applyPayments(Collection<PaymentVerificationEntity> payments, String paymentStatus);
+}
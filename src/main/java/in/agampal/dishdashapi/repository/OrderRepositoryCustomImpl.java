@@ -0,0 +1,114 @@
+package in.agampal.dishdashapi.repository;
+
+import in.agampal.dishdashapi.entity.OrderEntity;
+import in.agampal.dishdashapi.entity.OrderStatus;
+import in.agampal.dishdashapi.entity.PaymentVerificationEntity;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.util.OrderCursor;
+import lombok.AllArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@AllArgsConstructor
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<OrderEntity> findFeedPage(OrderFeedFilter filter, OrderCursor after, int limit) {
+        return mongoTemplate.find(feedQuery(filter, after, limit), OrderEntity.class);
+    }
+
+    @Override
+    public Optional<OrderEntity> transitionStatus(String orderId, OrderStatus target) {
+        return Optional.ofNullable(mongoTemplate.findAndModify(transitionQuery(orderId, target),
+                new Update().set("orderStatus", target.getLabel()),
+                FindAndModifyOptions.options().returnNew(true),
+                OrderEntity.class));
+    }
+
+    @Override
+    public int transitionStatuses(Map<String, OrderStatus> targets) {
+        if (targets.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderEntity.class);
+        targets.forEach((orderId, target) ->
+                bulk.updateOne(transitionQuery(orderId, target), new Update().set("orderStatus", target.getLabel())));
+        return bulk.execute().getModifiedCount();
+    }
+
+    @Override
+    public int applyPayments(Collection<PaymentVerificationEntity> payments, String paymentStatus) {
+        if (payments.isEmpty()) {
+            return 0;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, OrderEntity.class);
+        for (PaymentVerificationEntity payment : payments) {
+            bulk.updateOne(paymentQuery(payment.getRazorpayOrderId()),
+                    new Update()
+                            .set("paymentStatus", paymentStatus)
+                            .set("razorpaySignature", payment.getRazorpaySignature())
+                            .set("razorpayPaymentId", payment.getRazorpayPaymentId()));
+        }
+        return bulk.execute().getMatchedCount();
+    }
+
+    static Query paymentQuery(String razorpayOrderId) {
+        return new Query(Criteria.where("razorpayOrderId").is(razorpayOrderId));
+    }
+
+    static Query transitionQuery(String orderId, OrderStatus target) {
+        Criteria current = Criteria.where("orderStatus").in(target.predecessorValues());
+        if (target.acceptsUnknownValues()) {
+            // Free-form values from before the lifecycle count as the initial state
+            current = new Criteria().orOperator(current, Criteria.where("orderStatus").nin(OrderStatus.knownValues()));
+        }
+        return new Query(new Criteria().andOperator(Criteria.where("_id").is(orderId), current));
+    }
+
+    static Query feedQuery(OrderFeedFilter filter, OrderCursor after, int limit) {
+        List<Criteria> criteria = new ArrayList<>();
+        if (filter.getUserId() != null) {
+            criteria.add(Criteria.where("userId").is(filter.getUserId()));
+        }
+        if (filter.getOrderStatus() != null) {
+            criteria.add(Criteria.where("orderStatus").is(filter.getOrderStatus()));
+        }
+        if (filter.getPaymentStatus() != null) {
+            criteria.add(Criteria.where("paymentStatus").is(filter.getPaymentStatus()));
+        }
+        if (filter.getFrom() != null) {
+            criteria.add(Criteria.where("createdAt").gte(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            criteria.add(Criteria.where("createdAt").lt(filter.getTo()));
+        }
+        if (after != null) {
+            // Keyset continuation: (createdAt, _id) strictly less than the last row of the previous page
+            criteria.add(new Criteria().orOperator(
+                    Criteria.where("createdAt").lt(after.createdAt()),
+                    new Criteria().andOperator(
+                            Criteria.where("createdAt").is(after.createdAt()),
+                            Criteria.where("_id").lt(new ObjectId(after.id())))));
+        }
+
+        Query query = new Query();
+        if (!criteria.isEmpty()) {
+            query.addCriteria(new Criteria().andOperator(criteria));
+        }
+        return query.with(Sort.by(Sort.Direction.DESC, "createdAt", "_id")).limit(limit);
+    }
+}
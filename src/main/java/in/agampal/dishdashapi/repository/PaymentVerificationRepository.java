@@ -0,0 +1,14 @@
+package in.agampal.dishdashapi.repository;
+
+import in.agampal.dishdashapi.entity.PaymentVerificationEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface PaymentVerificationRepository extends MongoRepository<PaymentVerificationEntity, String> {
+    List<PaymentVerificationEntity> findByReceivedAtBeforeOrderByReceivedAtAsc(Instant before, Pageable pageable);
+}
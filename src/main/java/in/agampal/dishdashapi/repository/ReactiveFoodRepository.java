@@ -0,0 +1,9 @@
+package in.agampal.dishdashapi.repository;
+
+import in.agampal.dishdashapi.entity.FoodEntity;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveFoodRepository extends ReactiveMongoRepository<FoodEntity, String> {
+}
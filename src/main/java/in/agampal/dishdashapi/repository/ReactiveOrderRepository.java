@@ -0,0 +1,9 @@
+package in.agampal.dishdashapi.repository;
+
+import in.agampal.dishdashapi.entity.OrderEntity;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveOrderRepository extends ReactiveMongoRepository<OrderEntity, String>, ReactiveOrderRepositoryCustom {
+}
@@ -0,0 +1,15 @@
+package in.agampal.dishdashapi.repository;
+
+import in.agampal.dishdashapi.entity.OrderEntity;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.util.OrderCursor;
+import reactor.core.publisher.Flux;
+
+public interface ReactiveOrderRepositoryCustom {
+
+    /**
+     * Same query as {@link OrderRepositoryCustom#findFeedPage}, emitted as the driver reads each batch
+     * and no faster than the subscriber requests.
+     */
+    Flux<OrderEntity> streamFeed(OrderFeedFilter filter, OrderCursor after, int limit);
+}
@@ -0,0 +1,19 @@
+package in.agampal.dishdashapi.repository;
+
+import in.agampal.dishdashapi.entity.OrderEntity;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.util.OrderCursor;
+import lombok.AllArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+@AllArgsConstructor
+public class ReactiveOrderRepositoryCustomImpl implements ReactiveOrderRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<OrderEntity> streamFeed(OrderFeedFilter filter, OrderCursor after, int limit) {
+        return reactiveMongoTemplate.find(OrderRepositoryCustomImpl.feedQuery(filter, after, limit), OrderEntity.class);
+    }
+}
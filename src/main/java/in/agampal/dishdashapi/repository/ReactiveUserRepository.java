@@ -0,0 +1,11 @@
+package in.agampal.dishdashapi.repository;
+
+import in.agampal.dishdashapi.entity.UserEntity;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface ReactiveUserRepository extends ReactiveMongoRepository<UserEntity, String> {
+    Mono<UserEntity> findByEmail(String email);
+}
@@ -0,0 +1,311 @@
+package in.agampal.dishdashapi.seed;
+
+import in.agampal.dishdashapi.entity.CartEntity;
+import in.agampal.dishdashapi.entity.FoodEntity;
+import in.agampal.dishdashapi.entity.OrderEntity;
+import in.agampal.dishdashapi.entity.OrderStatus;
+import in.agampal.dishdashapi.entity.UserEntity;
+import in.agampal.dishdashapi.io.OrderItem;
+import in.agampal.dishdashapi.repository.CartRespository;
+import in.agampal.dishdashapi.repository.FoodRepository;
+import in.agampal.dishdashapi.repository.OrderRepository;
+import in.agampal.dishdashapi.repository.UserRepository;
+import in.agampal.dishdashapi.util.Zipf;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Profiles;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Fills an empty database with a catalog, users, carts and orders at scale-test volume, through the
+ * repositories' bulk {@code insert}, so it works against Mongo ({@code --spring.profiles.active=seed}) and
+ * the in-memory repositories of the test classpath ({@code perf,seed}). Popular dishes and heavy users follow Zipf distributions:
+ * low-numbered users place most orders and a few dishes appear in most of them.
+ * <p>
+ * Every batch draws from its own random stream derived from {@code seed.random-seed}, so a given seed and
+ * {@code seed.until} produce the same ids and documents regardless of thread count. Users are
+ * {@code seed-user-<n>@example.com} with the password {@code seed.password}. Against Mongo the process exits
+ * when done; indexes are built afterwards by the next start's warm-up, which is faster than inserting into them.
+ */
+@Component
+@Profile("seed")
+@Slf4j
+public class DataSeeder implements ApplicationRunner {
+
+    private static final String[] CATEGORIES = {"Biryani", "Pizza", "Burger", "Rolls", "Salad", "Dessert", "Beverage",
+            "Thali", "Noodles", "Sandwich", "South Indian", "Chinese"};
+    private static final String[] ADJECTIVES = {"Spicy", "Classic", "Smoky", "Crispy", "Masala", "Tandoori", "Cheesy", "Garlic"};
+    private static final String[] DISHES = {"Paneer", "Chicken", "Veg", "Mutton", "Egg", "Mushroom", "Prawn", "Corn"};
+    private static final String[] CITIES = {"Bengaluru", "Mumbai", "Delhi", "Pune", "Hyderabad", "Chennai", "Kolkata"};
+
+    // Distinct random streams per entity type; batch indexes are mixed in on top
+    private static final long FOODS = 1, USERS = 2, CARTS = 3, ORDERS = 4;
+
+    private final FoodRepository foodRepository;
+    private final UserRepository userRepository;
+    private final CartRespository cartRespository;
+    private final OrderRepository orderRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${seed.random-seed:42}")
+    private long randomSeed;
+
+    @Value("${seed.until:}")
+    private String until;
+
+    @Value("${seed.days:365}")
+    private int days;
+
+    @Value("${seed.foods:20000}")
+    private int foodCount;
+
+    @Value("${seed.users:200000}")
+    private int userCount;
+
+    @Value("${seed.carts:50000}")
+    private int cartCount;
+
+    @Value("${seed.orders:2000000}")
+    private int orderCount;
+
+    @Value("${seed.food-skew:1.1}")
+    private double foodSkew;
+
+    @Value("${seed.user-skew:1.0}")
+    private double userSkew;
+
+    @Value("${seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${seed.threads:4}")
+    private int threads;
+
+    @Value("${seed.password:seed-password}")
+    private String password;
+
+    @Value("${seed.drop-existing:false}")
+    private boolean dropExisting;
+
+    public DataSeeder(FoodRepository foodRepository, UserRepository userRepository, CartRespository cartRespository,
+                      OrderRepository orderRepository, PasswordEncoder passwordEncoder, ConfigurableApplicationContext context) {
+        this.foodRepository = foodRepository;
+        this.userRepository = userRepository;
+        this.cartRespository = cartRespository;
+        this.orderRepository = orderRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (dropExisting) {
+            orderRepository.deleteAll();
+            cartRespository.deleteAll();
+            userRepository.deleteAll();
+            foodRepository.deleteAll();
+        } else if (foodRepository.count() > 0 || userRepository.count() > 0 || orderRepository.count() > 0) {
+            log.warn("Database is not empty, not seeding; set seed.drop-existing=true to replace its contents");
+            exitIfStandalone();
+            return;
+        }
+
+        Instant end = until.isBlank() ? Instant.now().truncatedTo(ChronoUnit.DAYS) : Instant.parse(until);
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // Generated entities are also kept by number, so later batches can refer to them by Zipf rank
+            FoodEntity[] foods = new FoodEntity[foodCount];
+            insertInBatches("foods", foodCount, executor, batch -> foods(batch, end, foods), foodRepository::insert);
+
+            String hash = passwordEncoder.encode(password);
+            UserEntity[] users = new UserEntity[userCount];
+            insertInBatches("users", userCount, executor, batch -> users(batch, hash, end, users), userRepository::insert);
+
+            Zipf popularFoods = new Zipf(foodCount, foodSkew);
+            Zipf heavyUsers = new Zipf(userCount, userSkew);
+            insertInBatches("carts", Math.min(cartCount, userCount), executor,
+                    batch -> carts(batch, foods, popularFoods, users, end), cartRespository::insert);
+            insertInBatches("orders", orderCount, executor,
+                    batch -> orders(batch, foods, popularFoods, heavyUsers, users, end), orderRepository::insert);
+        } finally {
+            executor.shutdown();
+        }
+        log.info("Seeded {} foods, {} users, {} carts and {} orders in {} s (seed {})", foodCount, userCount,
+                Math.min(cartCount, userCount), orderCount, (System.currentTimeMillis() - start) / 1000, randomSeed);
+        exitIfStandalone();
+    }
+
+    // The in-memory repositories only live as long as this process, so under perf the app keeps serving
+    private void exitIfStandalone() {
+        if (!context.getEnvironment().acceptsProfiles(Profiles.of("perf"))) {
+            System.exit(SpringApplication.exit(context, () -> 0));
+        }
+    }
+
+    private <T> void insertInBatches(String label, int total, ExecutorService executor,
+                                     IntFunction<List<T>> generator, Consumer<List<T>> insert) throws Exception {
+        int batches = (total + batchSize - 1) / batchSize;
+        AtomicLong inserted = new AtomicLong();
+        long reportEvery = Math.max(batchSize, total / 10);
+        List<Future<?>> futures = new ArrayList<>(batches);
+        for (int batch = 0; batch < batches; batch++) {
+            int index = batch;
+            futures.add(executor.submit(() -> {
+                List<T> documents = generator.apply(index);
+                insert.accept(documents);
+                long done = inserted.addAndGet(documents.size());
+                if (done / reportEvery != (done - documents.size()) / reportEvery) {
+                    log.info("Seeded {}/{} {}", done, total, label);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException ex) {
+                futures.forEach(pending -> pending.cancel(true));
+                throw ex;
+            }
+        }
+    }
+
+    private List<FoodEntity> foods(int batch, Instant end, FoodEntity[] catalog) {
+        SplittableRandom random = random(FOODS, batch);
+        List<FoodEntity> foods = new ArrayList<>(batchSize);
+        for (int n = batch * batchSize; n < Math.min(foodCount, (batch + 1) * batchSize); n++) {
+            String dish = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + DISHES[random.nextInt(DISHES.length)];
+            String category = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            FoodEntity food = FoodEntity.builder()
+                    .id(objectId(end.minus(Duration.ofDays(days + 30)), random))
+                    .name(dish + " " + category + " #" + n)
+                    .description("A " + dish.toLowerCase() + " " + category.toLowerCase() + " from kitchen " + random.nextInt(500))
+                    // Log-normal prices around ₹250, rounded like a real menu
+                    .price(Math.max(30, Math.round(250 * Math.exp(0.5 * random.nextGaussian()) / 10) * 10 - 1))
+                    .category(category)
+                    .imageUrl("https://seed.invalid/foods/" + n + ".png")
+                    .build();
+            catalog[n] = food;
+            foods.add(food);
+        }
+        return foods;
+    }
+
+    private List<UserEntity> users(int batch, String hash, Instant end, UserEntity[] accounts) {
+        SplittableRandom random = random(USERS, batch);
+        List<UserEntity> users = new ArrayList<>(batchSize);
+        for (int n = batch * batchSize; n < Math.min(userCount, (batch + 1) * batchSize); n++) {
+            UserEntity user = UserEntity.builder()
+                    .id(objectId(end.minus(Duration.ofDays(days)), random))
+                    .name("Seed User " + n)
+                    .email("seed-user-" + n + "@example.com")
+                    .password(hash)
+                    .build();
+            accounts[n] = user;
+            users.add(user);
+        }
+        return users;
+    }
+
+    // Carts go to the heaviest users first, the ones most likely to have one open
+    private List<CartEntity> carts(int batch, FoodEntity[] foods, Zipf popularFoods, UserEntity[] users, Instant end) {
+        SplittableRandom random = random(CARTS, batch);
+        List<CartEntity> carts = new ArrayList<>(batchSize);
+        for (int n = batch * batchSize; n < Math.min(Math.min(cartCount, userCount), (batch + 1) * batchSize); n++) {
+            Map<String, Integer> items = new HashMap<>();
+            int lines = 1 + random.nextInt(6);
+            for (int i = 0; i < lines; i++) {
+                items.merge(foods[popularFoods.sample(random)].getId(), 1 + random.nextInt(3), Integer::sum);
+            }
+            carts.add(CartEntity.builder().id(objectId(end, random)).userId(users[n].getId()).items(items).build());
+        }
+        return carts;
+    }
+
+    private List<OrderEntity> orders(int batch, FoodEntity[] foods, Zipf popularFoods, Zipf heavyUsers,
+                                     UserEntity[] users, Instant end) {
+        SplittableRandom random = random(ORDERS, batch);
+        List<OrderEntity> orders = new ArrayList<>(batchSize);
+        long span = Duration.ofDays(days).toSeconds();
+        for (int n = batch * batchSize; n < Math.min(orderCount, (batch + 1) * batchSize); n++) {
+            // Squaring skews order times towards the recent end of the range, like a growing business
+            double u = random.nextDouble();
+            Instant createdAt = end.minusSeconds((long) (span * u * u));
+            int user = heavyUsers.sample(random);
+
+            List<OrderItem> items = new ArrayList<>();
+            double amount = 0;
+            int lines = 1 + (int) Math.min(4, -Math.log(1 - random.nextDouble()) * 1.2);
+            for (int i = 0; i < lines; i++) {
+                FoodEntity food = foods[popularFoods.sample(random)];
+                int quantity = 1 + random.nextInt(3);
+                amount += food.getPrice() * quantity;
+                items.add(OrderItem.builder().foodId(food.getId()).name(food.getName()).category(food.getCategory())
+                        .price(food.getPrice()).quantity(quantity).imageUrl(food.getImageUrl()).build());
+            }
+
+            String id = objectId(createdAt, random);
+            boolean paid = random.nextDouble() < 0.92;
+            orders.add(OrderEntity.builder()
+                    .id(id)
+                    .userId(users[user].getId())
+                    .email(users[user].getEmail())
+                    .phoneNumber(String.valueOf(9_000_000_000L + user))
+                    .userAddress((1 + user % 400) + " Seed Street, " + CITIES[user % CITIES.length])
+                    .orderedItems(items)
+                    .amount(amount)
+                    .razorpayOrderId("order_" + id)
+                    .razorpayPaymentId(paid ? "pay_" + id : null)
+                    .paymentStatus(paid ? "Paid" : null)
+                    .orderStatus(status(paid, Duration.between(createdAt, end), random).getLabel())
+                    .createdAt(createdAt)
+                    .build());
+        }
+        return orders;
+    }
+
+    private static OrderStatus status(boolean paid, Duration age, SplittableRandom random) {
+        if (!paid) {
+            return OrderStatus.initial();
+        }
+        double r = random.nextDouble();
+        if (age.toHours() >= 2) {
+            return r < 0.95 ? OrderStatus.DELIVERED : OrderStatus.CANCELLED;
+        }
+        return r < 0.4 ? OrderStatus.PREPARING : r < 0.8 ? OrderStatus.OUT_FOR_DELIVERY : OrderStatus.DELIVERED;
+    }
+
+    private SplittableRandom random(long stream, int batch) {
+        return new SplittableRandom(randomSeed * 1_000_003L + stream * 0x9E3779B97F4A7C15L + batch);
+    }
+
+    // ObjectIds carry their creation time; deriving them from the seed instead of the clock keeps runs identical
+    private static String objectId(Instant createdAt, SplittableRandom random) {
+        byte[] bytes = ByteBuffer.allocate(12).putInt((int) createdAt.getEpochSecond()).putLong(random.nextLong()).array();
+        return new ObjectId(bytes).toHexString();
+    }
+}
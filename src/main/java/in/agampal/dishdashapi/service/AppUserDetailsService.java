@@ -2,26 +2,64 @@ package in.agampal.dishdashapi.service;
 
 import in.agampal.dishdashapi.entity.UserEntity;
 import in.agampal.dishdashapi.repository.UserRepository;
-import lombok.AllArgsConstructor;
+import in.agampal.dishdashapi.util.SingleFlightLoader;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
+import java.util.Set;
 
 @Service
-@AllArgsConstructor
+@Timed("service.method")
 public class AppUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final Cache usersCache;
+    private final SingleFlightLoader singleFlightLoader;
+    private final Set<String> operators;
 
+    public AppUserDetailsService(UserRepository userRepository, CacheManager cacheManager,
+                                 SingleFlightLoader singleFlightLoader,
+                                 @Value("${security.operators:}") Set<String> operators) {
+        this.userRepository = userRepository;
+        this.usersCache = cacheManager.getCache("users");
+        this.singleFlightLoader = singleFlightLoader;
+        this.operators = operators;
+    }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        UserDetails cached = singleFlightLoader.get(usersCache, email, () -> loadFromDatabase(email));
+        // Hand out a copy: the authentication manager erases credentials on the instance it is given
+        return User.withUserDetails(cached).build();
+    }
+
+    public void preload(Collection<UserEntity> users) {
+        users.forEach(user -> usersCache.putIfAbsent(user.getEmail(), toUserDetails(user)));
+    }
+
+    private UserDetails loadFromDatabase(String email) {
         UserEntity user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return new User(user.getEmail(), user.getPassword(), Collections.emptyList());
+        return toUserDetails(user);
+    }
+
+    // Operators may use the diagnostic actuator endpoints (e.g. /actuator/jfr)
+    private UserDetails toUserDetails(UserEntity user) {
+        List<GrantedAuthority> authorities = operators.contains(user.getEmail())
+                ? List.of(new SimpleGrantedAuthority("ROLE_OPERATOR"))
+                : Collections.emptyList();
+        return new User(user.getEmail(), user.getPassword(), authorities);
     }
 }
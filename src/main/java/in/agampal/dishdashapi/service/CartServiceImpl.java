@@ -4,6 +4,7 @@ import in.agampal.dishdashapi.entity.CartEntity;
 import in.agampal.dishdashapi.io.CartRequest;
 import in.agampal.dishdashapi.io.CartResponse;
 import in.agampal.dishdashapi.repository.CartRespository;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -13,6 +14,7 @@ import java.util.Optional;
 
 @Service
 @AllArgsConstructor
+@Timed("service.method")
 public class CartServiceImpl implements CartService{
 
     private final CartRespository cartRespository;
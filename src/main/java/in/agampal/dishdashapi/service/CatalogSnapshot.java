@@ -0,0 +1,169 @@
+package in.agampal.dishdashapi.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.agampal.dishdashapi.cache.CacheInvalidation;
+import in.agampal.dishdashapi.cache.CacheInvalidationBroker;
+import in.agampal.dishdashapi.dto.ApiResponse;
+import in.agampal.dishdashapi.entity.FoodEntity;
+import in.agampal.dishdashapi.io.CatalogChangedEvent;
+import in.agampal.dishdashapi.io.FoodResponse;
+import in.agampal.dishdashapi.repository.FoodRepository;
+import in.agampal.dishdashapi.util.ExecutorFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The catalog as the exact bytes FoodController writes for {@code GET /api/foods} and {@code GET /api/foods/{id}},
+ * each with a strong ETag, for the anonymous fast lane. Rebuilt from the repository in the background, at most
+ * once at a time, when older than {@code catalog.fast-lane.max-age}; until the rebuild lands the old one is served.
+ * A catalog change on this node, or a cleared {@code menu} cache on any node with the two-tier cache, drops it at
+ * once, and catalog reads take the regular path until it is rebuilt.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.fast-lane.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class CatalogSnapshot {
+
+    public record Entry(byte[] body, String etag) {
+    }
+
+    private record Snapshot(Entry menu, Map<String, Entry> foods, long builtAtNanos) {
+    }
+
+    private final FoodRepository foodRepository;
+    private final ObjectMapper objectMapper;
+    private final ExecutorService rebuilder;
+    private final long maxAgeNanos;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private volatile Snapshot current;
+    // Bumped by every invalidation, so a rebuild that read the catalog before a change is not published after it
+    private long generation;
+
+    public CatalogSnapshot(FoodRepository foodRepository, ObjectMapper objectMapper, ExecutorFactory executorFactory,
+                           ObjectProvider<CacheInvalidationBroker> broker,
+                           @Value("${catalog.fast-lane.max-age:60s}") Duration maxAge) {
+        this.foodRepository = foodRepository;
+        this.objectMapper = objectMapper;
+        this.rebuilder = executorFactory.fixedPool("catalog-snapshot", 1);
+        this.maxAgeNanos = maxAge.toNanos();
+        broker.ifAvailable(available -> available.subscribe(this::onInvalidation));
+    }
+
+    /**
+     * The serialized menu, or {@code null} while there is no snapshot.
+     */
+    public Entry menu() {
+        Snapshot snapshot = fresh();
+        return snapshot == null ? null : snapshot.menu();
+    }
+
+    /**
+     * The serialized dish, or {@code null} while there is no snapshot or the id is not in it.
+     */
+    public Entry food(String id) {
+        Snapshot snapshot = fresh();
+        return snapshot == null ? null : snapshot.foods().get(id);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        requestRebuild();
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        invalidate();
+    }
+
+    public synchronized void invalidate() {
+        generation++;
+        current = null;
+    }
+
+    /**
+     * Reads the catalog and publishes a new snapshot unless it was invalidated meanwhile.
+     */
+    public void rebuild() {
+        long startedAt;
+        synchronized (this) {
+            startedAt = generation;
+        }
+        try {
+            List<FoodEntity> entities = foodRepository.findAll();
+            List<FoodResponse> foods = entities.stream().map(FoodServiceImpl::convertToResponse).toList();
+            Map<String, Entry> byId = new HashMap<>();
+            for (FoodResponse food : foods) {
+                byId.put(food.getId(), entry(ApiResponse.success(food, "Food item retrieved successfully")));
+            }
+            Snapshot built = new Snapshot(entry(ApiResponse.success(foods, "Food items retrieved successfully")),
+                    Map.copyOf(byId), System.nanoTime());
+            synchronized (this) {
+                if (generation == startedAt) {
+                    current = built;
+                }
+            }
+            log.debug("Rebuilt the catalog snapshot with {} dishes", foods.size());
+        } catch (RuntimeException | JsonProcessingException ex) {
+            log.warn("Could not rebuild the catalog snapshot; catalog reads take the regular path until it is", ex);
+        }
+    }
+
+    private Snapshot fresh() {
+        Snapshot snapshot = current;
+        if (snapshot == null || System.nanoTime() - snapshot.builtAtNanos() > maxAgeNanos) {
+            requestRebuild();
+        }
+        return snapshot;
+    }
+
+    private void requestRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuilder.execute(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    rebuilding.set(false);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            rebuilding.set(false);
+        }
+    }
+
+    // Adding or deleting a dish clears the whole menu cache on whichever node did it; refresh-ahead puts only
+    // replace single keys and do not mean the catalog changed
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if ("menu".equals(invalidation.cacheName()) && invalidation.key() == null) {
+            invalidate();
+        }
+    }
+
+    private Entry entry(Object response) throws JsonProcessingException {
+        byte[] body = objectMapper.writeValueAsBytes(response);
+        return new Entry(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -1,12 +1,21 @@
 package in.agampal.dishdashapi.service;
 
 import in.agampal.dishdashapi.entity.FoodEntity;
+import in.agampal.dishdashapi.io.CatalogChangedEvent;
 import in.agampal.dishdashapi.io.FoodRequest;
 import in.agampal.dishdashapi.io.FoodResponse;
 import in.agampal.dishdashapi.repository.FoodRepository;
+import in.agampal.dishdashapi.util.ExternalCallMetrics;
+import in.agampal.dishdashapi.util.SingleFlightLoader;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,12 +35,22 @@ import java.util.stream.Collectors;
 
 @Service
 @Slf4j
+@Timed("service.method")
 public class FoodServiceImpl implements FoodService{
 
     @Autowired
+    @Lazy
     private S3Client s3Client;
     @Autowired
     private FoodRepository foodRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private SingleFlightLoader singleFlightLoader;
+    @Autowired
+    private ExternalCallMetrics externalCallMetrics;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Value("${aws.s3.bucketname}")
     private String bucketName;
@@ -47,7 +66,9 @@ public class FoodServiceImpl implements FoodService{
                     .acl("public-read")
                     .contentType(file.getContentType())
                     .build();
-            PutObjectResponse response = s3Client.putObject(putObjectRequest, RequestBody.fromBytes(file.getBytes()));
+            RequestBody body = RequestBody.fromBytes(file.getBytes());
+            PutObjectResponse response = externalCallMetrics.time("s3", "putObject",
+                    () -> s3Client.putObject(putObjectRequest, body));
 
             if (response.sdkHttpResponse().isSuccessful()) {
                 return "https://"+bucketName+".s3.amazonaws.com/"+key;
@@ -61,27 +82,32 @@ public class FoodServiceImpl implements FoodService{
 
     @Override
     @Transactional
+    @CacheEvict(value = "menu", allEntries = true)
     public FoodResponse addFood(FoodRequest request, MultipartFile file) {
-        log.info("Attempting to add food: {}", request.getName());
+        log.debug("Attempting to add food: {}", request.getName());
         FoodEntity newFoodEntity = convertToEntity(request);
         String imageUrl = uploadFile(file);
         newFoodEntity.setImageUrl(imageUrl);
-        log.info("Created food entity: {}", newFoodEntity);
         newFoodEntity = foodRepository.save(newFoodEntity);
+        eventPublisher.publishEvent(new CatalogChangedEvent(newFoodEntity.getId()));
         log.info("Food saved to database with ID: {}", newFoodEntity.getId());
         return convertToResponse(newFoodEntity);
     }
 
     @Override
     public List<FoodResponse> readFoods() {
-        List<FoodEntity> databaseEntries = foodRepository.findAll();
-        return databaseEntries.stream().map(object -> convertToResponse(object)).collect(Collectors.toList());
+        return singleFlightLoader.get(cacheManager.getCache("menu"), "all", () -> {
+            List<FoodEntity> databaseEntries = foodRepository.findAll();
+            return databaseEntries.stream().map(object -> convertToResponse(object)).collect(Collectors.toList());
+        });
     }
 
     @Override
     public FoodResponse readFood(String id) {
-        FoodEntity existingFood = foodRepository.findById(id).orElseThrow(() -> new RuntimeException("Food not found for the id:"+id));
-        return convertToResponse(existingFood);
+        return singleFlightLoader.get(cacheManager.getCache("foods"), id, () -> {
+            FoodEntity existingFood = foodRepository.findById(id).orElseThrow(() -> new RuntimeException("Food not found for the id:"+id));
+            return convertToResponse(existingFood);
+        });
     }
 
     @Override
@@ -90,11 +116,15 @@ public class FoodServiceImpl implements FoodService{
                 .bucket(bucketName)
                 .key(filename)
                 .build();
-        s3Client.deleteObject(deleteObjectRequest);
+        externalCallMetrics.time("s3", "deleteObject", () -> s3Client.deleteObject(deleteObjectRequest));
         return true;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(value = "foods", key = "#id"),
+            @CacheEvict(value = "menu", allEntries = true)
+    })
     public void deleteFood(String id) {
         FoodResponse response = readFood(id);
         String imageUrl = response.getImageUrl();
@@ -102,6 +132,7 @@ public class FoodServiceImpl implements FoodService{
         boolean isFileDelete = deleteFile(filename);
         if (isFileDelete) {
             foodRepository.deleteById(response.getId());
+            eventPublisher.publishEvent(new CatalogChangedEvent(response.getId()));
         }
     }
 
@@ -115,7 +146,7 @@ public class FoodServiceImpl implements FoodService{
 
     }
 
-    private FoodResponse convertToResponse(FoodEntity entity) {
+    static FoodResponse convertToResponse(FoodEntity entity) {
         return FoodResponse.builder()
                 .id(entity.getId())
                 .name(entity.getName())
@@ -1,24 +1,39 @@
 package in.agampal.dishdashapi.service;
 
 import com.razorpay.RazorpayException;
+import in.agampal.dishdashapi.entity.PaymentVerificationEntity;
+import in.agampal.dishdashapi.io.BulkStatusUpdateResponse;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.io.OrderPageResponse;
 import in.agampal.dishdashapi.io.OrderRequest;
 import in.agampal.dishdashapi.io.OrderResponse;
+import in.agampal.dishdashapi.io.OrderStatusUpdate;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 
 public interface OrderService {
 
     OrderResponse createOrderWithPayment(OrderRequest request) throws RazorpayException;
 
-    void verifyPayment(Map<String, String> paymentData, String status);
+    /**
+     * Applies already signature-checked payments in bulk. Returns how many matched no order.
+     */
+    int applyVerifiedPayments(List<PaymentVerificationEntity> payments, String status);
 
-    List<OrderResponse> getUserOrders();
+    OrderPageResponse getUserOrders(String cursor, int size);
+
+    /**
+     * Caches the first page of order history for each user, as {@link #getUserOrders} would.
+     */
+    void preloadUserOrders(Collection<String> userIds);
 
     void removeOrder(String orderId);
 
-    List<OrderResponse> getOrdersOfAllUsers();
+    OrderPageResponse getOrdersOfAllUsers(OrderFeedFilter filter, String cursor, int size);
+
+    OrderResponse updateOrderStatus(String orderId, String status);
 
-    void updateOrderStatus(String orderId, String status);
+    BulkStatusUpdateResponse updateOrderStatuses(List<OrderStatusUpdate> updates);
 
 }
@@ -1,37 +1,62 @@
 package in.agampal.dishdashapi.service;
 
-import com.razorpay.Order;
-import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
 import in.agampal.dishdashapi.entity.OrderEntity;
+import in.agampal.dishdashapi.entity.OrderStatus;
+import in.agampal.dishdashapi.entity.PaymentVerificationEntity;
+import in.agampal.dishdashapi.exception.BusinessException;
+import in.agampal.dishdashapi.exception.ResourceNotFoundException;
+import in.agampal.dishdashapi.io.BulkStatusUpdateResponse;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.io.OrderPageResponse;
 import in.agampal.dishdashapi.io.OrderRequest;
 import in.agampal.dishdashapi.io.OrderResponse;
+import in.agampal.dishdashapi.io.OrderStatusEvent;
+import in.agampal.dishdashapi.io.OrderStatusUpdate;
 import in.agampal.dishdashapi.repository.CartRespository;
 import in.agampal.dishdashapi.repository.OrderRepository;
-import org.json.JSONObject;
+import in.agampal.dishdashapi.util.OrderCursor;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("service.method")
 public class OrderServiceImpl implements OrderService{
 
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_STATUS_UPDATES = 500;
+    private static final String USER_ORDERS_CACHE = "orders";
+
     @Autowired
     private OrderRepository orderRepository;
     @Autowired
     private UserService userService;
     @Autowired
     private CartRespository cartRespository;
-
-    @Value("${razorpay_key}")
-    private String RAZORPAY_KEY;
-    @Value("${razorpay_secret}")
-    private String RAZORPAY_SECRET;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    @Lazy
+    private PaymentGateway paymentGateway;
 
     @Override
     @Transactional
@@ -41,63 +66,193 @@ public class OrderServiceImpl implements OrderService{
 
 
         //create razorpay payment order
-        RazorpayClient razorpayClient = new RazorpayClient(RAZORPAY_KEY, RAZORPAY_SECRET);
-        JSONObject orderRequest = new JSONObject();
-        orderRequest.put("amount", newOrder.getAmount() * 100);
-        orderRequest.put("currency", "INR");
-        orderRequest.put("payment_capture", 1);
-
-        Order razorpayOrder = razorpayClient.orders.create(orderRequest);
-        newOrder.setRazorpayOrderId(razorpayOrder.get("id"));
+        newOrder.setRazorpayOrderId(paymentGateway.createOrder(newOrder.getAmount(), "INR"));
         //newOrder.setAmount(razorpayOrder.get("amount"));
         String loggedInUserId = userService.findByUserId();
         newOrder.setUserId(loggedInUserId);
         newOrder = orderRepository.save(newOrder);
+        evictUserOrders(loggedInUserId);
         return convertToResponse(newOrder);
     }
 
     @Override
-    @Transactional
-    public void verifyPayment(Map<String, String> paymentData, String status) {
-        String razorpayOrderId = paymentData.get("razorpay_order_id");
-        OrderEntity existingOrder = orderRepository.findByRazorpayOrderId(razorpayOrderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
-        existingOrder.setPaymentStatus(status);
-        existingOrder.setRazorpaySignature(paymentData.get("razorpay_signature"));
-        existingOrder.setRazorpayPaymentId(paymentData.get("razorpay_payment_id"));
-        orderRepository.save(existingOrder);
-        if ("paid".equalsIgnoreCase(status)) {
-            cartRespository.deleteByUserId(existingOrder.getUserId());
+    public int applyVerifiedPayments(List<PaymentVerificationEntity> payments, String status) {
+        if (payments.isEmpty()) {
+            return 0;
         }
+        Map<String, PaymentVerificationEntity> byRazorpayOrderId = new LinkedHashMap<>();
+        payments.forEach(payment -> byRazorpayOrderId.put(payment.getRazorpayOrderId(), payment));
+
+        List<OrderEntity> orders = orderRepository.findByRazorpayOrderIdIn(byRazorpayOrderId.keySet());
+        orderRepository.applyPayments(byRazorpayOrderId.values(), status);
+
+        Set<String> userIds = orders.stream().map(OrderEntity::getUserId).collect(Collectors.toSet());
+        if ("paid".equalsIgnoreCase(status) && !userIds.isEmpty()) {
+            cartRespository.deleteByUserIdIn(userIds);
+        }
+        for (OrderEntity order : orders) {
+            PaymentVerificationEntity payment = byRazorpayOrderId.get(order.getRazorpayOrderId());
+            order.setPaymentStatus(status);
+            order.setRazorpaySignature(payment.getRazorpaySignature());
+            order.setRazorpayPaymentId(payment.getRazorpayPaymentId());
+            evictUserOrders(order.getUserId());
+            publishStatusEvent(order);
+        }
+        return byRazorpayOrderId.size() - orders.size();
     }
 
     @Override
-    public List<OrderResponse> getUserOrders() {
+    public OrderPageResponse getUserOrders(String cursor, int size) {
         String loggedInUserId = userService.findByUserId();
-        List<OrderEntity> list = orderRepository.findByUserId(loggedInUserId);
-        return list.stream().map(entity -> convertToResponse(entity)).collect(Collectors.toList());
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        boolean firstPage = cursor == null || cursor.isBlank();
+        OrderCursor after = firstPage ? null : OrderCursor.decode(cursor);
+        OrderFeedFilter filter = OrderFeedFilter.builder().userId(loggedInUserId).build();
+
+        // Only the default-sized first page is cached; it is what the order screen polls
+        if (firstPage && pageSize == DEFAULT_PAGE_SIZE) {
+            Cache cache = cacheManager.getCache(USER_ORDERS_CACHE);
+            if (cache != null) {
+                return cache.get(loggedInUserId,
+                        () -> toPage(orderRepository.findFeedPage(filter, null, pageSize + 1), pageSize));
+            }
+        }
+        return toPage(orderRepository.findFeedPage(filter, after, pageSize + 1), pageSize);
+    }
+
+    @Override
+    public void preloadUserOrders(Collection<String> userIds) {
+        Cache cache = cacheManager.getCache(USER_ORDERS_CACHE);
+        if (cache == null) {
+            return;
+        }
+        for (String userId : userIds) {
+            OrderFeedFilter filter = OrderFeedFilter.builder().userId(userId).build();
+            cache.putIfAbsent(userId,
+                    toPage(orderRepository.findFeedPage(filter, null, DEFAULT_PAGE_SIZE + 1), DEFAULT_PAGE_SIZE));
+        }
     }
 
     @Override
     public void removeOrder(String orderId) {
-        orderRepository.deleteById(orderId);
+        // Loaded first to know whose cached first page still lists it
+        orderRepository.findById(orderId).ifPresent(order -> {
+            orderRepository.deleteById(orderId);
+            evictUserOrders(order.getUserId());
+        });
     }
 
     @Override
-    public List<OrderResponse> getOrdersOfAllUsers() {
-        List<OrderEntity> list = orderRepository.findAll();
-        return list.stream().map(entity -> convertToResponse(entity)).collect(Collectors.toList());
+    public OrderPageResponse getOrdersOfAllUsers(OrderFeedFilter filter, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        OrderCursor after = cursor != null && !cursor.isBlank() ? OrderCursor.decode(cursor) : null;
+        // Fetch one extra row to know whether another page exists without a count query
+        List<OrderEntity> rows = orderRepository.findFeedPage(filter, after, pageSize + 1);
+        return toPage(rows, pageSize);
     }
 
     @Override
-    public void updateOrderStatus(String orderId, String status) {
-        OrderEntity entity = orderRepository.findById(orderId)
-                .orElseThrow(() -> new RuntimeException("Order not found"));
-        entity.setOrderStatus(status);
-        orderRepository.save(entity);
+    public OrderResponse updateOrderStatus(String orderId, String status) {
+        OrderStatus target = parseStatus(status);
+        OrderEntity updated = orderRepository.transitionStatus(orderId, target)
+                .orElseThrow(() -> rejectedTransition(orderId, target));
+        evictUserOrders(updated.getUserId());
+        publishStatusEvent(updated);
+        return convertToResponse(updated);
+    }
+
+    @Override
+    public BulkStatusUpdateResponse updateOrderStatuses(List<OrderStatusUpdate> updates) {
+        if (updates.size() > MAX_BULK_STATUS_UPDATES) {
+            throw new BusinessException("At most " + MAX_BULK_STATUS_UPDATES + " status updates per request");
+        }
+        Map<String, OrderStatus> targets = new LinkedHashMap<>();
+        for (OrderStatusUpdate update : updates) {
+            targets.put(update.getOrderId(), parseStatus(update.getStatus()));
+        }
+        // Bulk results only carry counts, so snapshot current states to know which orders can move
+        Map<String, OrderEntity> candidates = new LinkedHashMap<>();
+        for (OrderEntity order : orderRepository.findAllById(targets.keySet())) {
+            OrderStatus target = targets.get(order.getId());
+            if (target.canBeReachedFrom(order.getOrderStatus())) {
+                candidates.put(order.getId(), order);
+            }
+        }
+        Map<String, OrderStatus> legalTargets = new LinkedHashMap<>();
+        candidates.keySet().forEach(orderId -> legalTargets.put(orderId, targets.get(orderId)));
+        int applied = orderRepository.transitionStatuses(legalTargets);
+
+        List<OrderEntity> appliedOrders = new ArrayList<>(candidates.values());
+        if (applied < candidates.size()) {
+            // A concurrent update won the race for some orders; re-read to see which ones we moved
+            appliedOrders.clear();
+            orderRepository.findAllById(candidates.keySet()).forEach(order -> {
+                if (targets.get(order.getId()).getLabel().equals(order.getOrderStatus())) {
+                    appliedOrders.add(order);
+                }
+            });
+        }
+
+        List<String> rejected = new ArrayList<>(targets.keySet());
+        for (OrderEntity order : appliedOrders) {
+            rejected.remove(order.getId());
+            order.setOrderStatus(targets.get(order.getId()).getLabel());
+            evictUserOrders(order.getUserId());
+            publishStatusEvent(order);
+        }
+        return BulkStatusUpdateResponse.builder()
+                .requested(targets.size())
+                .applied(applied)
+                .rejectedOrderIds(rejected)
+                .build();
+    }
+
+    private OrderStatus parseStatus(String status) {
+        return OrderStatus.from(status)
+                .orElseThrow(() -> new BusinessException("Unknown order status: " + status));
+    }
+
+    // Only reached when the conditional update matched nothing, so the extra read is off the hot path
+    private RuntimeException rejectedTransition(String orderId, OrderStatus target) {
+        return orderRepository.findById(orderId)
+                .<RuntimeException>map(order -> new BusinessException(HttpStatus.CONFLICT,
+                        "Cannot change order status from " + order.getOrderStatus() + " to " + target.getLabel()))
+                .orElseGet(() -> new ResourceNotFoundException("Order", "id", orderId));
+    }
+
+    private void publishStatusEvent(OrderEntity order) {
+        eventPublisher.publishEvent(OrderStatusEvent.builder()
+                .orderId(order.getId())
+                .userId(order.getUserId())
+                .orderStatus(order.getOrderStatus())
+                .paymentStatus(order.getPaymentStatus())
+                .updatedAt(Instant.now())
+                .build());
+    }
+
+    private void evictUserOrders(String userId) {
+        Cache cache = cacheManager.getCache(USER_ORDERS_CACHE);
+        if (cache != null && userId != null) {
+            cache.evict(userId);
+        }
+    }
+
+    private OrderPageResponse toPage(List<OrderEntity> rows, int pageSize) {
+        boolean hasMore = rows.size() > pageSize;
+        List<OrderEntity> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            OrderEntity last = page.get(page.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return OrderPageResponse.builder()
+                .orders(page.stream().map(entity -> convertToResponse(entity)).collect(Collectors.toList()))
+                .nextCursor(nextCursor)
+                .hasMore(hasMore)
+                .build();
     }
 
-    private OrderResponse convertToResponse(OrderEntity newOrder) {
+    static OrderResponse convertToResponse(OrderEntity newOrder) {
         return OrderResponse.builder()
                 .id(newOrder.getId())
                 .amount(newOrder.getAmount())
@@ -109,6 +264,7 @@ public class OrderServiceImpl implements OrderService{
                 .email(newOrder.getEmail())
                 .phoneNumber(newOrder.getPhoneNumber())
                 .orderedItems(newOrder.getOrderedItems())
+                .createdAt(newOrder.getCreatedAt())
                 .build();
     }
 
@@ -119,7 +275,8 @@ public class OrderServiceImpl implements OrderService{
                 .orderedItems(request.getOrderedItems())
                 .email(request.getEmail())
                 .phoneNumber(request.getPhoneNumber())
-                .orderStatus(request.getOrderStatus())
+                .orderStatus(OrderStatus.initial().getLabel())
+                .createdAt(Instant.now())
                 .build();
     }
 }
@@ -0,0 +1,10 @@
+package in.agampal.dishdashapi.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface OrderStreamService {
+
+    SseEmitter subscribeUser(String userId);
+
+    SseEmitter subscribeAdmin();
+}
@@ -0,0 +1,225 @@
+package in.agampal.dishdashapi.service;
+
+import in.agampal.dishdashapi.exception.BusinessException;
+import in.agampal.dishdashapi.io.OrderStatusEvent;
+import in.agampal.dishdashapi.util.ExecutorFactory;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes order status and payment changes to subscribed users and admin panels over SSE.
+ * Emitters are parked on async servlet requests, so an idle subscriber costs a socket and an
+ * emitter object but no request thread. Publishers and the heartbeat only append to each client's
+ * bounded buffer; a small pool writes the buffers out, one client at a time per thread. A client whose
+ * buffer overflows ({@code orders.stream.client-buffer}) or whose write has been stuck for longer than
+ * {@code orders.stream.send-timeout-ms} is completed and dropped, so slow clients never hold up others.
+ */
+@Service
+@Slf4j
+public class OrderStreamServiceImpl implements OrderStreamService {
+
+    private final Map<String, Set<Client>> userClients = new ConcurrentHashMap<>();
+    private final Set<Client> adminClients = ConcurrentHashMap.newKeySet();
+    private final ThreadPoolExecutor fanOutExecutor;
+    // Its own thread, so heartbeats neither wait for nor delay the shared @Scheduled tasks
+    private final ScheduledExecutorService heartbeats;
+
+    @Value("${orders.stream.timeout-ms:1800000}")
+    private long emitterTimeout;
+
+    @Value("${orders.stream.max-per-user:5}")
+    private int maxEmittersPerUser;
+
+    @Value("${orders.stream.client-buffer:64}")
+    private int clientBuffer;
+
+    private final long sendTimeoutNanos;
+
+    public OrderStreamServiceImpl(ExecutorFactory executorFactory,
+                                  @Value("${orders.stream.fan-out-threads:4}") int fanOutThreads,
+                                  @Value("${orders.stream.fan-out-queue:10000}") int fanOutQueue,
+                                  @Value("${orders.stream.heartbeat-ms:25000}") long heartbeatMillis,
+                                  @Value("${orders.stream.send-timeout-ms:10000}") long sendTimeoutMillis) {
+        this.fanOutExecutor = executorFactory.boundedPool("order-stream-fanout", fanOutThreads, fanOutQueue);
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(executorFactory.threadFactory("order-stream-heartbeat"));
+        heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public SseEmitter subscribeUser(String userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+        Client client = new Client(emitter, userId);
+        // Check and add under the map's lock for this user, so concurrent subscribes cannot exceed the limit
+        boolean[] added = new boolean[1];
+        userClients.compute(userId, (k, set) -> {
+            Set<Client> clients = set == null ? ConcurrentHashMap.newKeySet() : set;
+            if (clients.size() < maxEmittersPerUser) {
+                added[0] = clients.add(client);
+            }
+            return clients.isEmpty() ? null : clients;
+        });
+        if (!added[0]) {
+            throw new BusinessException(HttpStatus.TOO_MANY_REQUESTS, "Too many open order streams");
+        }
+        client.register();
+        return emitter;
+    }
+
+    @Override
+    public SseEmitter subscribeAdmin() {
+        SseEmitter emitter = new SseEmitter(emitterTimeout);
+        Client client = new Client(emitter, null);
+        adminClients.add(client);
+        client.register();
+        return emitter;
+    }
+
+    @EventListener
+    public void onOrderStatusEvent(OrderStatusEvent event) {
+        SseEmitter.SseEventBuilder frame = SseEmitter.event().name("order-status").id(event.getOrderId()).data(event);
+        Set<Client> owners = userClients.get(event.getUserId());
+        if (owners != null) {
+            owners.forEach(client -> client.offer(frame));
+        }
+        adminClients.forEach(client -> client.offer(frame));
+    }
+
+    // Comment frames keep idle connections open through proxies and flush out dead sockets
+    void heartbeat() {
+        long now = System.nanoTime();
+        SseEmitter.SseEventBuilder ping = SseEmitter.event().comment("ping");
+        userClients.values().forEach(clients -> clients.forEach(client -> client.heartbeat(ping, now)));
+        adminClients.forEach(client -> client.heartbeat(ping, now));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        fanOutExecutor.shutdownNow();
+        userClients.values().forEach(clients -> clients.forEach(client -> client.emitter.complete()));
+        adminClients.forEach(client -> client.emitter.complete());
+    }
+
+    /**
+     * One subscriber: a bounded buffer of frames, written out by at most one fan-out thread at a time.
+     */
+    private final class Client {
+        private final SseEmitter emitter;
+        // null for admin subscribers
+        private final String userId;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> pending = new ArrayBlockingQueue<>(clientBuffer);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // System.nanoTime() when the current write started, 0 while idle
+        private volatile long sendingSince;
+
+        private Client(SseEmitter emitter, String userId) {
+            this.emitter = emitter;
+            this.userId = userId;
+        }
+
+        private void register() {
+            emitter.onCompletion(this::close);
+            emitter.onTimeout(this::close);
+            emitter.onError(ex -> close());
+        }
+
+        private void offer(SseEmitter.SseEventBuilder frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (!pending.offer(frame)) {
+                // Clients re-sync through GET /api/orders on reconnect, so dropping a slow one is safe
+                log.warn("Order stream client fell {} frames behind, disconnecting it", clientBuffer);
+                drop();
+                return;
+            }
+            schedule();
+        }
+
+        private void heartbeat(SseEmitter.SseEventBuilder ping, long now) {
+            long since = sendingSince;
+            if (since != 0 && now - since > sendTimeoutNanos) {
+                log.warn("Order stream write stuck for over {} ms, disconnecting the client",
+                        TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+                drop();
+                return;
+            }
+            offer(ping);
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                fanOutExecutor.execute(this::drain);
+            } catch (RejectedExecutionException ex) {
+                // Frames stay buffered; the next offer tries again
+                scheduled.set(false);
+            }
+        }
+
+        private void drain() {
+            try {
+                SseEmitter.SseEventBuilder frame;
+                while (!closed.get() && (frame = pending.poll()) != null) {
+                    sendingSince = System.nanoTime();
+                    emitter.send(frame);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close();
+                emitter.completeWithError(ex);
+            } finally {
+                sendingSince = 0;
+                scheduled.set(false);
+            }
+            // Frames offered after the last poll but before the flag was cleared
+            if (!closed.get() && !pending.isEmpty()) {
+                schedule();
+            }
+        }
+
+        // complete() does not wait for an in-flight send, so the heartbeat thread never blocks here
+        private void drop() {
+            if (close()) {
+                emitter.complete();
+            }
+        }
+
+        private boolean close() {
+            if (!closed.compareAndSet(false, true)) {
+                return false;
+            }
+            pending.clear();
+            if (userId == null) {
+                adminClients.remove(this);
+            } else {
+                userClients.computeIfPresent(userId, (k, set) -> {
+                    set.remove(this);
+                    return set.isEmpty() ? null : set;
+                });
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package in.agampal.dishdashapi.service;
+
+import com.razorpay.RazorpayException;
+
+public interface PaymentGateway {
+
+    /**
+     * Creates a payment order with the gateway for {@code amount} rupees and returns the gateway's order id.
+     */
+    String createOrder(double amount, String currency) throws RazorpayException;
+}
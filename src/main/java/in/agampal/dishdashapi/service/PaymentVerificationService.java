@@ -0,0 +1,8 @@
+package in.agampal.dishdashapi.service;
+
+import java.util.Map;
+
+public interface PaymentVerificationService {
+
+    void submit(Map<String, String> paymentData);
+}
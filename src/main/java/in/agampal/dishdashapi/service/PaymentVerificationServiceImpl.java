@@ -0,0 +1,248 @@
+package in.agampal.dishdashapi.service;
+
+import in.agampal.dishdashapi.entity.PaymentVerificationEntity;
+import in.agampal.dishdashapi.exception.BusinessException;
+import in.agampal.dishdashapi.repository.PaymentVerificationRepository;
+import in.agampal.dishdashapi.util.ExecutorFactory;
+import in.agampal.dishdashapi.util.PaymentSignatureVerifier;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Accepts payment callbacks into a bounded queue and applies them in batches on a small worker pool.
+ * Each callback is persisted before it is acknowledged and deleted once applied; whatever is left
+ * in the collection at startup, or older than {@code payment.verification.retry-interval-ms} and not
+ * queued (a failed batch, a full queue), is re-queued. Applying a payment is idempotent, so replays are safe.
+ */
+@Service
+@Slf4j
+@Timed("service.method")
+public class PaymentVerificationServiceImpl implements PaymentVerificationService {
+
+    private static final String PAID = "Paid";
+
+    private final PaymentVerificationRepository verificationRepository;
+    private final PaymentSignatureVerifier signatureVerifier;
+    private final OrderService orderService;
+    private final BlockingQueue<PaymentVerificationEntity> queue;
+    // Ids in the queue or in a batch being applied, so the retry sweep does not queue them twice
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private final int workers;
+    private final int batchSize;
+    private final Duration retryInterval;
+    private final ExecutorService workerPool;
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSizes;
+    private final Timer batchTimer;
+    private final Counter verified;
+    private final Counter invalidSignatures;
+    private final Counter unknownOrders;
+
+    public PaymentVerificationServiceImpl(PaymentVerificationRepository verificationRepository,
+                                          PaymentSignatureVerifier signatureVerifier,
+                                          OrderService orderService,
+                                          MeterRegistry meterRegistry,
+                                          ExecutorFactory executorFactory,
+                                          @Value("${payment.verification.capacity:10000}") int capacity,
+                                          @Value("${payment.verification.workers:2}") int workers,
+                                          @Value("${payment.verification.batch-size:100}") int batchSize,
+                                          @Value("${payment.verification.retry-interval-ms:30000}") long retryIntervalMs) {
+        this.verificationRepository = verificationRepository;
+        this.signatureVerifier = signatureVerifier;
+        this.orderService = orderService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.retryInterval = Duration.ofMillis(retryIntervalMs);
+        this.workerPool = executorFactory.fixedPool("payment-verifier", workers);
+
+        Gauge.builder("payment.verification.queue.size", queue, BlockingQueue::size)
+                .description("Payment callbacks waiting to be applied")
+                .register(meterRegistry);
+        Gauge.builder("payment.verification.queue.lag", this, PaymentVerificationServiceImpl::oldestPendingAgeSeconds)
+                .description("Age of the oldest queued payment callback")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("payment.verification.batch.size")
+                .description("Payment callbacks applied per batch")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("payment.verification.batch.duration")
+                .description("Time to verify and apply one batch")
+                .register(meterRegistry);
+        this.verified = meterRegistry.counter("payment.verification.results", "outcome", "verified");
+        this.invalidSignatures = meterRegistry.counter("payment.verification.results", "outcome", "invalid_signature");
+        this.unknownOrders = meterRegistry.counter("payment.verification.results", "outcome", "order_not_found");
+    }
+
+    @Override
+    public void submit(Map<String, String> paymentData) {
+        String razorpayOrderId = paymentData.get("razorpay_order_id");
+        String razorpayPaymentId = paymentData.get("razorpay_payment_id");
+        String razorpaySignature = paymentData.get("razorpay_signature");
+        if (razorpayOrderId == null || razorpayPaymentId == null || razorpaySignature == null) {
+            throw new BusinessException("razorpay_order_id, razorpay_payment_id and razorpay_signature are required");
+        }
+        if (queue.remainingCapacity() == 0) {
+            throw new BusinessException(HttpStatus.SERVICE_UNAVAILABLE, "Payment verification is busy, please retry");
+        }
+
+        PaymentVerificationEntity verification = verificationRepository.save(PaymentVerificationEntity.builder()
+                .razorpayOrderId(razorpayOrderId)
+                .razorpayPaymentId(razorpayPaymentId)
+                .razorpaySignature(razorpaySignature)
+                .receivedAt(Instant.now())
+                .build());
+        if (!enqueue(verification)) {
+            verificationRepository.delete(verification);
+            throw new BusinessException(HttpStatus.SERVICE_UNAVAILABLE, "Payment verification is busy, please retry");
+        }
+    }
+
+    /**
+     * Starts the workers, then queues what the previous run left behind, at most the queue's free capacity;
+     * the rest, or everything if the database is unreachable at startup, is left to {@link #requeueStale}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (int i = 0; i < workers; i++) {
+            workerPool.execute(this::drainLoop);
+        }
+        int requeued = requeueReceivedBefore(Instant.now());
+        if (requeued > 0) {
+            log.info("Re-queued {} pending payment verifications", requeued);
+        }
+    }
+
+    /**
+     * Re-queues callbacks that have waited longer than the retry interval without being queued, such as those
+     * of a batch that failed; the interval is also the backoff between attempts.
+     */
+    @Scheduled(initialDelayString = "${payment.verification.retry-interval-ms:30000}",
+            fixedDelayString = "${payment.verification.retry-interval-ms:30000}")
+    public void requeueStale() {
+        int requeued = requeueReceivedBefore(Instant.now().minus(retryInterval));
+        if (requeued > 0) {
+            log.warn("Re-queued {} payment verifications that were not applied", requeued);
+        }
+    }
+
+    private int requeueReceivedBefore(Instant cutoff) {
+        int room = queue.remainingCapacity();
+        if (!running || room == 0) {
+            return 0;
+        }
+        List<PaymentVerificationEntity> pending;
+        try {
+            pending = verificationRepository.findByReceivedAtBeforeOrderByReceivedAtAsc(cutoff, PageRequest.of(0, room));
+        } catch (RuntimeException ex) {
+            log.warn("Could not read pending payment verifications, retrying in {} ms: {}", retryInterval.toMillis(), ex.toString());
+            return 0;
+        }
+        int requeued = 0;
+        for (PaymentVerificationEntity verification : pending) {
+            if (queued.contains(verification.getId())) {
+                continue;
+            }
+            if (!enqueue(verification)) {
+                break;
+            }
+            requeued++;
+        }
+        return requeued;
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        workerPool.shutdown();
+        workerPool.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private void drainLoop() {
+        List<PaymentVerificationEntity> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PaymentVerificationEntity first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                batchTimer.record(() -> process(batch));
+                batchSizes.record(batch.size());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                // Records stay in the collection and are picked up again by requeueStale
+                log.error("Failed to apply payment verification batch of {}", batch.size(), ex);
+            } finally {
+                batch.forEach(verification -> queued.remove(verification.getId()));
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean enqueue(PaymentVerificationEntity verification) {
+        if (!queued.add(verification.getId())) {
+            return true;
+        }
+        if (!queue.offer(verification)) {
+            queued.remove(verification.getId());
+            return false;
+        }
+        return true;
+    }
+
+    private void process(List<PaymentVerificationEntity> batch) {
+        List<PaymentVerificationEntity> valid = new ArrayList<>(batch.size());
+        for (PaymentVerificationEntity verification : batch) {
+            if (signatureVerifier.verify(verification.getRazorpayOrderId(),
+                    verification.getRazorpayPaymentId(), verification.getRazorpaySignature())) {
+                valid.add(verification);
+            } else {
+                log.warn("Rejected payment callback with invalid signature for order {}", verification.getRazorpayOrderId());
+                invalidSignatures.increment();
+            }
+        }
+
+        int missing = orderService.applyVerifiedPayments(valid, PAID);
+        verified.increment(valid.size() - missing);
+        unknownOrders.increment(missing);
+        verificationRepository.deleteAllById(batch.stream().map(PaymentVerificationEntity::getId).toList());
+    }
+
+    private double oldestPendingAgeSeconds() {
+        PaymentVerificationEntity oldest = queue.peek();
+        if (oldest == null) {
+            return 0;
+        }
+        return Duration.between(oldest.getReceivedAt(), Instant.now()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,40 @@
+package in.agampal.dishdashapi.service;
+
+import com.razorpay.Order;
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import in.agampal.dishdashapi.util.ExternalCallMetrics;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+// Created with the first order rather than during startup; OrderServiceImpl injects it lazily
+@Service
+@Lazy
+@Profile("!perf")
+public class RazorpayPaymentGateway implements PaymentGateway {
+
+    private final RazorpayClient razorpayClient;
+    private final ExternalCallMetrics externalCallMetrics;
+
+    public RazorpayPaymentGateway(@Value("${razorpay_key}") String razorpayKey,
+                                  @Value("${razorpay_secret}") String razorpaySecret,
+                                  ExternalCallMetrics externalCallMetrics) throws RazorpayException {
+        this.razorpayClient = new RazorpayClient(razorpayKey, razorpaySecret);
+        this.externalCallMetrics = externalCallMetrics;
+    }
+
+    @Override
+    public String createOrder(double amount, String currency) throws RazorpayException {
+        JSONObject orderRequest = new JSONObject();
+        orderRequest.put("amount", amount * 100);
+        orderRequest.put("currency", currency);
+        orderRequest.put("payment_capture", 1);
+
+        Order razorpayOrder = externalCallMetrics.time("razorpay", "createOrder",
+                () -> razorpayClient.orders.create(orderRequest));
+        return razorpayOrder.get("id");
+    }
+}
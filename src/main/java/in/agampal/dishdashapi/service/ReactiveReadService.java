@@ -0,0 +1,23 @@
+package in.agampal.dishdashapi.service;
+
+import in.agampal.dishdashapi.io.FoodResponse;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.io.OrderResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterparts of the catalog and order reads, served from the reactive repositories.
+ * Order streams take the same opaque cursor as the paged endpoints and are capped at
+ * {@code reactive-reads.max-stream-size} rows.
+ */
+public interface ReactiveReadService {
+
+    Flux<FoodResponse> readFoods();
+
+    Mono<FoodResponse> readFood(String id);
+
+    Flux<OrderResponse> readUserOrders(String cursor, int limit);
+
+    Flux<OrderResponse> readOrdersOfAllUsers(OrderFeedFilter filter, String cursor, int limit);
+}
@@ -0,0 +1,69 @@
+package in.agampal.dishdashapi.service;
+
+import in.agampal.dishdashapi.entity.UserEntity;
+import in.agampal.dishdashapi.exception.ResourceNotFoundException;
+import in.agampal.dishdashapi.io.FoodResponse;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.io.OrderResponse;
+import in.agampal.dishdashapi.repository.ReactiveFoodRepository;
+import in.agampal.dishdashapi.repository.ReactiveOrderRepository;
+import in.agampal.dishdashapi.repository.ReactiveUserRepository;
+import in.agampal.dishdashapi.util.OrderCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@ConditionalOnProperty(name = "reactive-reads.enabled", havingValue = "true")
+public class ReactiveReadServiceImpl implements ReactiveReadService {
+
+    private final ReactiveFoodRepository foodRepository;
+    private final ReactiveOrderRepository orderRepository;
+    private final ReactiveUserRepository userRepository;
+    private final AuthenticationFacade authenticationFacade;
+    private final int maxStreamSize;
+
+    public ReactiveReadServiceImpl(ReactiveFoodRepository foodRepository,
+                                   ReactiveOrderRepository orderRepository,
+                                   ReactiveUserRepository userRepository,
+                                   AuthenticationFacade authenticationFacade,
+                                   @Value("${reactive-reads.max-stream-size:1000}") int maxStreamSize) {
+        this.foodRepository = foodRepository;
+        this.orderRepository = orderRepository;
+        this.userRepository = userRepository;
+        this.authenticationFacade = authenticationFacade;
+        this.maxStreamSize = maxStreamSize;
+    }
+
+    @Override
+    public Flux<FoodResponse> readFoods() {
+        return foodRepository.findAll().map(FoodServiceImpl::convertToResponse);
+    }
+
+    @Override
+    public Mono<FoodResponse> readFood(String id) {
+        return foodRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Food", "id", id)))
+                .map(FoodServiceImpl::convertToResponse);
+    }
+
+    @Override
+    public Flux<OrderResponse> readUserOrders(String cursor, int limit) {
+        // Read on the request thread; the security context is not carried onto the driver's threads
+        String email = authenticationFacade.getAuthentication().getName();
+        return userRepository.findByEmail(email)
+                .switchIfEmpty(Mono.error(() -> new UsernameNotFoundException("User not found")))
+                .map(UserEntity::getId)
+                .flatMapMany(userId -> readOrdersOfAllUsers(OrderFeedFilter.builder().userId(userId).build(), cursor, limit));
+    }
+
+    @Override
+    public Flux<OrderResponse> readOrdersOfAllUsers(OrderFeedFilter filter, String cursor, int limit) {
+        OrderCursor after = cursor != null && !cursor.isBlank() ? OrderCursor.decode(cursor) : null;
+        return orderRepository.streamFeed(filter, after, Math.max(1, Math.min(limit, maxStreamSize)))
+                .map(OrderServiceImpl::convertToResponse);
+    }
+}
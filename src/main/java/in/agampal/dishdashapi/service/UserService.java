@@ -1,11 +1,16 @@
 package in.agampal.dishdashapi.service;
 
+import in.agampal.dishdashapi.entity.UserEntity;
 import in.agampal.dishdashapi.io.UserRequest;
 import in.agampal.dishdashapi.io.UserResponse;
 
+import java.util.Collection;
+
 public interface UserService {
 
     UserResponse registerUser(UserRequest request);
 
     String findByUserId();
+
+    void preloadUserIds(Collection<UserEntity> users);
 }
@@ -4,28 +4,36 @@ import in.agampal.dishdashapi.entity.UserEntity;
 import in.agampal.dishdashapi.io.UserRequest;
 import in.agampal.dishdashapi.io.UserResponse;
 import in.agampal.dishdashapi.repository.UserRepository;
+import in.agampal.dishdashapi.util.SingleFlightLoader;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+
 @Service
 @AllArgsConstructor
 @Slf4j
+@Timed("service.method")
 public class UserServiceImpl implements UserService{
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationFacade authenticationFacade;
+    private final CacheManager cacheManager;
+    private final SingleFlightLoader singleFlightLoader;
 
     @Override
     @Transactional
     public UserResponse registerUser(UserRequest request) {
-        log.info("Attempting to register user with email: {}", request.getEmail());
+        log.debug("Attempting to register user with email: {}", request.getEmail());
         UserEntity newUser = convertToEntity(request);
-        log.info("Created user entity: {}", newUser);
         newUser = userRepository.save(newUser);
         log.info("User saved to database with ID: {}", newUser.getId());
         return convertToResponse(newUser);
@@ -34,8 +42,17 @@ public class UserServiceImpl implements UserService{
     @Override
     public String findByUserId() {
         String loggedInUserEmail = authenticationFacade.getAuthentication().getName();
-        UserEntity loggedInUser = userRepository.findByEmail(loggedInUserEmail).orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return loggedInUser.getId();
+        // Emails never change owner, so the email -> id mapping is safe to cache for as long as it lives
+        return singleFlightLoader.get(cacheManager.getCache("userIds"), loggedInUserEmail, () ->
+                userRepository.findByEmail(loggedInUserEmail)
+                        .orElseThrow(() -> new UsernameNotFoundException("User not found"))
+                        .getId());
+    }
+
+    @Override
+    public void preloadUserIds(Collection<UserEntity> users) {
+        Cache cache = cacheManager.getCache("userIds");
+        users.forEach(user -> cache.putIfAbsent(user.getEmail(), user.getId()));
     }
 
     private UserEntity convertToEntity(UserRequest request) {
@@ -0,0 +1,48 @@
+package in.agampal.dishdashapi.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the internal worker pools. With {@code spring.threads.virtual.enabled} the pools run on virtual
+ * threads, like Tomcat and the scheduler then do; their sizes and queue bounds stay the same, so they keep
+ * limiting concurrency against the dependencies they call and keep rejecting work when full.
+ */
+@Component
+public class ExecutorFactory {
+
+    private final boolean virtualThreads;
+
+    public ExecutorFactory(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public ThreadFactory threadFactory(String name) {
+        return virtualThreads ? Thread.ofVirtual().name(name + "-", 0).factory() : platformThreads(name);
+    }
+
+    public ExecutorService fixedPool(String name, int threads) {
+        return Executors.newFixedThreadPool(threads, threadFactory(name));
+    }
+
+    public ThreadPoolExecutor boundedPool(String name, int threads, int queueCapacity) {
+        return new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(name));
+    }
+
+    // Daemon threads, so a pool nobody shut down never keeps the JVM alive
+    public static ThreadFactory platformThreads(String name) {
+        return Thread.ofPlatform().name(name + "-", 0).daemon(true).factory();
+    }
+}
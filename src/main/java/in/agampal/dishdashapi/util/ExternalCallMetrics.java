@@ -0,0 +1,43 @@
+package in.agampal.dishdashapi.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times calls to third-party services (S3, Razorpay) as {@code external.call}, tagged by dependency,
+ * operation and outcome. Histogram and SLO buckets come from {@code management.metrics.distribution.*}.
+ */
+@Component
+public class ExternalCallMetrics {
+
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    private final MeterRegistry meterRegistry;
+
+    public ExternalCallMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public <T, E extends Exception> T time(String dependency, String operation, Call<T, E> call) throws E {
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            T result = call.call();
+            success = true;
+            return result;
+        } finally {
+            Timer.builder("external.call")
+                    .tag("dependency", dependency)
+                    .tag("operation", operation)
+                    .tag("outcome", success ? "success" : "failure")
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package in.agampal.dishdashapi.util;
+
+import in.agampal.dishdashapi.exception.BusinessException;
+import org.bson.types.ObjectId;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for order feeds sorted by {@code createdAt desc, _id desc}.
+ * Encoded as base64url of {@code <epochMillis>:<objectId>} so clients can't depend on its shape.
+ */
+public record OrderCursor(Instant createdAt, String id) {
+
+    public String encode() {
+        String raw = createdAt.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            Instant createdAt = Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator)));
+            String id = raw.substring(separator + 1);
+            if (!ObjectId.isValid(id)) {
+                throw new IllegalArgumentException("Invalid id in cursor");
+            }
+            return new OrderCursor(createdAt, id);
+        } catch (RuntimeException ex) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package in.agampal.dishdashapi.util;
+
+import in.agampal.dishdashapi.cache.InvalidationTrackingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cache.Cache;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.function.Supplier;
+
+/**
+ * Cache-aside reads where concurrent misses for the same key share one in-flight load, and entries of
+ * caches listed under {@code single-flight.refresh-after.*} are reloaded in the background once they
+ * are older than the configured age, so hot keys are replaced before they expire. A loaded value is not
+ * cached if its key was evicted while the load ran, and in two-tier caches loads and refreshes are written
+ * without an invalidation broadcast (see {@link InvalidationTrackingCache}).
+ */
+@Component
+@Slf4j
+public class SingleFlightLoader {
+
+    private record FlightKey(String cacheName, Object key) {}
+
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<FlightKey, Long> loadedAt = new ConcurrentHashMap<>();
+    private final Map<String, Long> refreshAfterNanos;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${single-flight.max-tracked-keys:50000}")
+    private int maxTrackedKeys;
+
+    public SingleFlightLoader(Environment environment,
+                              MeterRegistry meterRegistry,
+                              ExecutorFactory executorFactory,
+                              @Value("${single-flight.refresh-threads:2}") int refreshThreads,
+                              @Value("${single-flight.refresh-queue:1000}") int refreshQueue) {
+        this.meterRegistry = meterRegistry;
+        this.refreshAfterNanos = new ConcurrentHashMap<>();
+        Binder.get(environment)
+                .bind("single-flight.refresh-after", Bindable.mapOf(String.class, Duration.class))
+                .orElse(Map.of())
+                .forEach((cacheName, age) -> refreshAfterNanos.put(cacheName, age.toNanos()));
+        this.refreshExecutor = executorFactory.boundedPool("cache-refresh-ahead", refreshThreads, refreshQueue);
+    }
+
+    public <V> V get(Cache cache, Object key, Supplier<V> loader) {
+        FlightKey flightKey = new FlightKey(cache.getName(), key);
+        Cache.ValueWrapper cached = cache.get(key);
+        if (cached != null) {
+            @SuppressWarnings("unchecked")
+            V value = (V) cached.get();
+            refreshIfStale(cache, flightKey, value, loader);
+            return value;
+        }
+
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(flightKey, flight);
+        if (existing != null) {
+            meterRegistry.counter("cache.singleflight.coalesced", "cache", cache.getName()).increment();
+            return await(existing);
+        }
+        try {
+            // Another flight may have filled the cache between our miss and winning the slot
+            cached = cache.get(key);
+            Object value = cached != null ? cached.get() : load(cache, flightKey, loader);
+            flight.complete(value);
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+        return await(flight);
+    }
+
+    @Scheduled(fixedDelayString = "${single-flight.sweep-interval-ms:60000}")
+    public void sweepLoadTimes() {
+        long now = System.nanoTime();
+        loadedAt.entrySet().removeIf(entry -> {
+            Long refreshAfter = refreshAfterNanos.get(entry.getKey().cacheName());
+            return refreshAfter == null || now - entry.getValue() > 2 * refreshAfter;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    private Object load(Cache cache, FlightKey flightKey, Supplier<?> loader) {
+        meterRegistry.counter("cache.singleflight.loads", "cache", cache.getName()).increment();
+        if (!(cache instanceof InvalidationTrackingCache tracking)) {
+            Object value = loader.get();
+            cache.put(flightKey.key(), value);
+            recordLoad(flightKey);
+            return value;
+        }
+        // An eviction during the load means the value may predate a write; callers get it, the cache does not
+        long generation = tracking.generation(flightKey.key());
+        Object value = loader.get();
+        if (tracking.putIfUnchanged(flightKey.key(), value, generation)) {
+            recordLoad(flightKey);
+        } else {
+            meterRegistry.counter("cache.singleflight.stale-puts-skipped", "cache", cache.getName()).increment();
+        }
+        return value;
+    }
+
+    private void recordLoad(FlightKey flightKey) {
+        if (refreshAfterNanos.containsKey(flightKey.cacheName())
+                && (loadedAt.size() < maxTrackedKeys || loadedAt.containsKey(flightKey))) {
+            loadedAt.put(flightKey, System.nanoTime());
+        }
+    }
+
+    private void refreshIfStale(Cache cache, FlightKey flightKey, Object current, Supplier<?> loader) {
+        Long refreshAfter = refreshAfterNanos.get(flightKey.cacheName());
+        Long loaded = refreshAfter == null ? null : loadedAt.get(flightKey);
+        if (loaded == null || System.nanoTime() - loaded < refreshAfter) {
+            return;
+        }
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        if (inFlight.putIfAbsent(flightKey, flight) != null) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    meterRegistry.counter("cache.singleflight.refreshes", "cache", cache.getName()).increment();
+                    flight.complete(load(cache, flightKey, loader));
+                } catch (RuntimeException ex) {
+                    // Keep serving the current entry; it will be reloaded on expiry
+                    log.debug("Refresh-ahead failed for {}:{}", flightKey.cacheName(), flightKey.key(), ex);
+                    loadedAt.remove(flightKey);
+                    flight.completeExceptionally(ex);
+                } finally {
+                    inFlight.remove(flightKey, flight);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(flightKey, flight);
+            flight.complete(current);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V await(CompletableFuture<Object> flight) {
+        try {
+            return (V) flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw ex;
+        }
+    }
+}
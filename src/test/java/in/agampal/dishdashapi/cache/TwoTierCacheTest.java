@@ -0,0 +1,147 @@
+package in.agampal.dishdashapi.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TwoTierCacheTest {
+
+    private final SharedCacheStore shared = new InMemorySharedCacheStore();
+    private final AtomicInteger broadcasts = new AtomicInteger();
+    private final CacheInvalidationBroker broker = new InMemoryCacheInvalidationBroker() {
+        @Override
+        public void publish(CacheInvalidation invalidation) {
+            broadcasts.incrementAndGet();
+            super.publish(invalidation);
+        }
+    };
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void secondNodeReadsFromSharedTier() {
+        Cache nodeA = node().getCache("foods");
+        Cache nodeB = node().getCache("foods");
+
+        assertThat(nodeA.get("f1", this::load)).isEqualTo("v1");
+        assertThat(nodeB.get("f1", this::load)).isEqualTo("v1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void evictOnOneNodeDropsNearCopiesOnOthers() {
+        Cache nodeA = node().getCache("foods");
+        Cache nodeB = node().getCache("foods");
+        Cache nodeC = node().getCache("foods");
+        nodeA.get("f1", this::load);
+        nodeB.get("f1", this::load);
+        nodeC.get("f1", this::load);
+
+        nodeA.evict("f1");
+
+        assertThat(nodeB.get("f1", this::load)).isEqualTo("v2");
+        assertThat(nodeC.get("f1", this::load)).isEqualTo("v2");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void clearOnOneNodeClearsEveryNode() {
+        Cache nodeA = node().getCache("foods");
+        Cache nodeB = node().getCache("foods");
+        nodeA.get("f1", this::load);
+        nodeB.get("f2", this::load);
+
+        nodeB.clear();
+
+        assertThat(nodeA.get("f1")).isNull();
+        assertThat(nodeB.get("f2")).isNull();
+    }
+
+    @Test
+    void putIfAbsentKeepsTheSharedValueAndNeverBroadcasts() {
+        Cache nodeA = node().getCache("foods");
+        Cache nodeB = node().getCache("foods");
+        nodeA.get("f1", this::load);
+
+        assertThat(nodeB.putIfAbsent("f1", "warm")).extracting(Cache.ValueWrapper::get).isEqualTo("v1");
+        assertThat(nodeB.putIfAbsent("f2", "warm")).isNull();
+        assertThat(nodeA.get("f2", this::load)).isEqualTo("warm");
+        assertThat(broadcasts).hasValue(0);
+    }
+
+    @Test
+    void loadThatRacedARemoteEvictionIsReturnedButNotCached() throws Exception {
+        TwoTierCache nodeA = (TwoTierCache) node().getCache("foods");
+        Cache nodeB = node().getCache("foods");
+        long generation = nodeA.generation("f1");
+        CompletableFuture<?>[] remoteEvict = new CompletableFuture<?>[1];
+
+        String value = nodeA.get("f1", () -> {
+            // Another node evicts while this load runs; its broadcast reaches nodeA mid-load
+            remoteEvict[0] = CompletableFuture.runAsync(() -> nodeB.evict("f1"));
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (nodeA.generation("f1") == generation && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            return "stale";
+        });
+        remoteEvict[0].get(5, TimeUnit.SECONDS);
+
+        assertThat(value).isEqualTo("stale");
+        assertThat(nodeA.get("f1")).isNull();
+        assertThat(shared.get("foods", "f1")).isNull();
+    }
+
+    @Test
+    void cachesNotListedStayLocal() {
+        Cache nodeA = node().getCache("users");
+        Cache nodeB = node().getCache("users");
+
+        nodeA.get("u1", this::load);
+        nodeB.get("u1", this::load);
+
+        assertThat(nodeA).isNotInstanceOf(TwoTierCache.class);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void sharedTierUsesEachCachesOwnTtl() {
+        Map<String, Duration> ttls = new HashMap<>();
+        SharedCacheStore recording = new InMemorySharedCacheStore() {
+            @Override
+            public void put(String cacheName, String key, Object value, Duration ttl) {
+                ttls.put(cacheName, ttl);
+                super.put(cacheName, key, value, ttl);
+            }
+        };
+        TwoTierCacheManager manager = new TwoTierCacheManager(Set.of("foods", "orders"), recording, broker,
+                Duration.ofMinutes(10), Map.of("orders", Duration.ofMinutes(2)));
+        manager.registerCustomCache("foods", Caffeine.newBuilder().maximumSize(100).build());
+        manager.registerCustomCache("orders", Caffeine.newBuilder().maximumSize(100).build());
+
+        manager.getCache("foods").put("f1", "v");
+        manager.getCache("orders").put("u1", "v");
+
+        assertThat(ttls).containsEntry("foods", Duration.ofMinutes(10)).containsEntry("orders", Duration.ofMinutes(2));
+    }
+
+    private String load() {
+        return "v" + loads.incrementAndGet();
+    }
+
+    private TwoTierCacheManager node() {
+        TwoTierCacheManager manager = new TwoTierCacheManager(Set.of("foods"), shared, broker, Duration.ofMinutes(10));
+        manager.registerCustomCache("foods", Caffeine.newBuilder().maximumSize(100).build());
+        manager.registerCustomCache("users", Caffeine.newBuilder().maximumSize(100).build());
+        return manager;
+    }
+}
@@ -0,0 +1,70 @@
+package in.agampal.dishdashapi.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DistributedRateLimiterTest {
+
+    private static final long WINDOW = 60_000;
+
+    @Test
+    void nodesSharingAStoreEnforceOneClusterLimit() {
+        InMemoryRateLimitStore store = new InMemoryRateLimitStore();
+        DistributedRateLimiter nodeA = node(store, 100);
+        DistributedRateLimiter nodeB = node(store, 100);
+
+        int admitted = 0;
+        for (int i = 0; i < 150; i++) {
+            if (nodeA.tryAcquire("10.0.0.1 /api/foods")) {
+                admitted++;
+            }
+            if (nodeB.tryAcquire("10.0.0.1 /api/foods")) {
+                admitted++;
+            }
+        }
+
+        assertThat(admitted).isEqualTo(100);
+    }
+
+    @Test
+    void slowStoreDegradesToLocalLimiting() {
+        RateLimitStore hangingStore = (key, window, permits, windowMillis) -> {
+            try {
+                Thread.sleep(1_000);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return permits;
+        };
+        DistributedRateLimiter limiter = node(hangingStore, 5);
+
+        int admitted = 0;
+        for (int i = 0; i < 10; i++) {
+            if (limiter.tryAcquire("10.0.0.1 /api/foods")) {
+                admitted++;
+            }
+        }
+
+        assertThat(admitted).isEqualTo(5);
+    }
+
+    @Test
+    void sweepAlsoEvictsIdleKeysFromTheLocalFallback() {
+        SlidingWindowRateLimiter local = new SlidingWindowRateLimiter(5, WINDOW, 1_000);
+        DistributedRateLimiter limiter = new DistributedRateLimiter(new InMemoryRateLimitStore(), local, 5, WINDOW, 10, 50, 60_000, 1_000);
+        long longAgo = System.currentTimeMillis() - 10 * WINDOW;
+        for (int i = 0; i < 100; i++) {
+            local.tryAcquire("10.0.0." + i + " /api/foods", longAgo);
+        }
+
+        limiter.evictIdleKeys();
+
+        assertThat(local.size()).isZero();
+    }
+
+    private DistributedRateLimiter node(RateLimitStore store, int maxRequests) {
+        SlidingWindowRateLimiter local = new SlidingWindowRateLimiter(maxRequests, WINDOW, 1_000);
+        return new DistributedRateLimiter(store, local, maxRequests, WINDOW, 10, 50, 60_000, 1_000);
+    }
+}
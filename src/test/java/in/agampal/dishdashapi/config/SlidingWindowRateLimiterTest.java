@@ -0,0 +1,55 @@
+package in.agampal.dishdashapi.config;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowRateLimiterTest {
+
+    private static final long WINDOW = 60_000;
+    private static final long START = 100 * WINDOW;
+
+    @Test
+    void admitsUpToTheLimitWithinOneWindow() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(10, WINDOW, 1_000);
+
+        assertThat(admitted(limiter, "10.0.0.1 /api/foods", 15, START)).isEqualTo(10);
+        assertThat(limiter.tryAcquire("10.0.0.2 /api/foods", START)).isTrue();
+    }
+
+    @Test
+    void weighsThePreviousWindowByTheTimeLeftInIt() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(10, WINDOW, 1_000);
+        admitted(limiter, "10.0.0.1 /api/foods", 10, START);
+
+        // Halfway through the next window the previous 10 still count as 5
+        assertThat(admitted(limiter, "10.0.0.1 /api/foods", 10, START + WINDOW + WINDOW / 2)).isEqualTo(5);
+        // Two windows later the key starts from zero
+        assertThat(admitted(limiter, "10.0.0.1 /api/foods", 15, START + 3 * WINDOW)).isEqualTo(10);
+    }
+
+    @Test
+    void aFullKeyTableEvictsTheLeastRecentlyUsedKeysInsteadOfRejectingNewOnes() {
+        SlidingWindowRateLimiter limiter = new SlidingWindowRateLimiter(1, WINDOW, 100);
+        limiter.tryAcquire("legitimate", START);
+        for (int i = 0; i < 99; i++) {
+            limiter.tryAcquire("spoofed-" + i, START + 1 + i);
+        }
+        // Touched again, so it is now the most recently used key
+        limiter.tryAcquire("legitimate", START + 1_000);
+
+        assertThat(limiter.tryAcquire("new-client", START + 1_001)).isTrue();
+        assertThat(limiter.size()).isLessThanOrEqualTo(100);
+        assertThat(limiter.tryAcquire("legitimate", START + 1_002)).isFalse();
+    }
+
+    private static int admitted(SlidingWindowRateLimiter limiter, String key, int attempts, long nowMillis) {
+        int admitted = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (limiter.tryAcquire(key, nowMillis)) {
+                admitted++;
+            }
+        }
+        return admitted;
+    }
+}
@@ -0,0 +1,48 @@
+package in.agampal.dishdashapi.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatusTest {
+
+    @Test
+    void parsesNamesLabelsAndAliasesIgnoringCaseAndSpaces() {
+        assertThat(OrderStatus.from("Food Preparing")).contains(OrderStatus.PREPARING);
+        assertThat(OrderStatus.from(" preparing ")).contains(OrderStatus.PREPARING);
+        assertThat(OrderStatus.from("OUT_FOR_DELIVERY")).contains(OrderStatus.OUT_FOR_DELIVERY);
+        assertThat(OrderStatus.from("out for delivery")).contains(OrderStatus.OUT_FOR_DELIVERY);
+        assertThat(OrderStatus.from("Shipped")).isEmpty();
+        assertThat(OrderStatus.from(null)).isEmpty();
+    }
+
+    @Test
+    void allowsOnlyForwardTransitions() {
+        assertThat(OrderStatus.PREPARING.canTransitionTo(OrderStatus.OUT_FOR_DELIVERY)).isTrue();
+        assertThat(OrderStatus.PREPARING.canTransitionTo(OrderStatus.CANCELLED)).isTrue();
+        assertThat(OrderStatus.OUT_FOR_DELIVERY.canTransitionTo(OrderStatus.DELIVERED)).isTrue();
+
+        assertThat(OrderStatus.PREPARING.canTransitionTo(OrderStatus.DELIVERED)).isFalse();
+        assertThat(OrderStatus.OUT_FOR_DELIVERY.canTransitionTo(OrderStatus.PREPARING)).isFalse();
+        assertThat(OrderStatus.DELIVERED.canTransitionTo(OrderStatus.CANCELLED)).isFalse();
+        assertThat(OrderStatus.CANCELLED.canTransitionTo(OrderStatus.PREPARING)).isFalse();
+    }
+
+    @Test
+    void matchesStoredValuesExactlyIncludingAliasesAndMissingStatus() {
+        assertThat(OrderStatus.OUT_FOR_DELIVERY.canBeReachedFrom("Food Preparing")).isTrue();
+        assertThat(OrderStatus.OUT_FOR_DELIVERY.canBeReachedFrom("Preparing")).isTrue();
+        assertThat(OrderStatus.OUT_FOR_DELIVERY.canBeReachedFrom(null)).isTrue();
+        assertThat(OrderStatus.DELIVERED.canBeReachedFrom("Out for delivery")).isTrue();
+        assertThat(OrderStatus.DELIVERED.canBeReachedFrom("Food Preparing")).isFalse();
+        assertThat(OrderStatus.CANCELLED.canBeReachedFrom("Delivered")).isFalse();
+    }
+
+    @Test
+    void treatsUnknownLegacyValuesAsTheInitialState() {
+        assertThat(OrderStatus.OUT_FOR_DELIVERY.canBeReachedFrom("Order placed")).isTrue();
+        assertThat(OrderStatus.CANCELLED.canBeReachedFrom("Order placed")).isTrue();
+        assertThat(OrderStatus.DELIVERED.canBeReachedFrom("Order placed")).isFalse();
+        assertThat(OrderStatus.knownValues()).doesNotContain("Order placed").contains("Food Preparing", "Preparing");
+    }
+}
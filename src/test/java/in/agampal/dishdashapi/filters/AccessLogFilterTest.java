@@ -0,0 +1,104 @@
+package in.agampal.dishdashapi.filters;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AccessLogFilterTest {
+
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger("access");
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final MockEnvironment environment = new MockEnvironment()
+            .withProperty("access-log.sample-rates.[/api/orders]", "1");
+    private AccessLogFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        appender.start();
+        accessLogger.addAppender(appender);
+        filter = new AccessLogFilter(environment, 0, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(appender);
+    }
+
+    @Test
+    void samplesSuccessfulRequestsPerRoute() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/foods"), new MockHttpServletResponse(), routedTo("/api/foods", 200));
+        assertThat(appender.list).isEmpty();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), new MockHttpServletResponse(), routedTo("/api/orders", 200));
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLevel().toString()).isEqualTo("INFO");
+            assertThat(event.getKeyValuePairs()).anySatisfy(pair -> {
+                assertThat(pair.key).isEqualTo("route");
+                assertThat(pair.value).isEqualTo("/api/orders");
+            });
+        });
+    }
+
+    @Test
+    void neverSamplesServerErrors() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/foods"), new MockHttpServletResponse(), routedTo("/api/foods", 503));
+        FilterChain failing = (request, response) -> {
+            throw new ServletException("boom");
+        };
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("GET", "/api/foods"), new MockHttpServletResponse(), failing))
+                .isInstanceOf(ServletException.class);
+
+        assertThat(appender.list).hasSize(2).allSatisfy(event -> assertThat(event.getLevel().toString()).isEqualTo("ERROR"));
+        assertThat(appender.list.get(1).getKeyValuePairs()).anySatisfy(pair -> {
+            assertThat(pair.key).isEqualTo("status");
+            assertThat(pair.value).isEqualTo(500);
+        });
+    }
+
+    @Test
+    void samplesDeliberateRejectionsAtTheirOwnRateAndLevel() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), new MockHttpServletResponse(),
+                rejectedBy("load-shedding", 503));
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), new MockHttpServletResponse(),
+                rejectedBy("rate-limit", 429));
+        assertThat(appender.list).isEmpty();
+
+        AccessLogFilter sampled = new AccessLogFilter(environment, 0, 1);
+        sampled.doFilter(new MockHttpServletRequest("GET", "/api/foods"), new MockHttpServletResponse(),
+                rejectedBy("load-shedding", 503));
+        assertThat(appender.list).singleElement().satisfies(event -> {
+            assertThat(event.getLevel().toString()).isEqualTo("WARN");
+            assertThat(event.getKeyValuePairs()).anySatisfy(pair -> {
+                assertThat(pair.key).isEqualTo("rejectedBy");
+                assertThat(pair.value).isEqualTo("load-shedding");
+            });
+        });
+    }
+
+    private static FilterChain rejectedBy(String reason, int status) {
+        return (request, response) -> {
+            request.setAttribute(AccessLogFilter.REJECTED_ATTRIBUTE, reason);
+            ((MockHttpServletResponse) response).setStatus(status);
+        };
+    }
+
+    private static FilterChain routedTo(String route, int status) {
+        return (request, response) -> {
+            request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, route);
+            ((MockHttpServletResponse) response).setStatus(status);
+        };
+    }
+}
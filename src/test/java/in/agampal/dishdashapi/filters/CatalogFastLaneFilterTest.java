@@ -0,0 +1,238 @@
+package in.agampal.dishdashapi.filters;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.agampal.dishdashapi.cache.CacheInvalidationBroker;
+import in.agampal.dishdashapi.entity.FoodEntity;
+import in.agampal.dishdashapi.repository.memory.InMemoryFoodRepository;
+import in.agampal.dishdashapi.service.CatalogSnapshot;
+import in.agampal.dishdashapi.util.ExecutorFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class CatalogFastLaneFilterTest {
+
+    // Serializing the 100-dish menu on every request, which is what the snapshot avoids, allocates about 40 KB.
+    // Warmed up, a request allocates well under 1 KB; the slack covers interpreted or C1-compiled runs
+    private static final long ALLOCATION_BUDGET_BYTES = 8 * 1024;
+
+    private final InMemoryFoodRepository foodRepository = new InMemoryFoodRepository();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final AtomicInteger chainCalls = new AtomicInteger();
+    private final FilterChain chain = (request, response) -> chainCalls.incrementAndGet();
+    private CatalogSnapshot snapshot;
+    private CatalogFastLaneFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < 100; i++) {
+            foodRepository.save(FoodEntity.builder().name("Dish " + i)
+                    .description("A reasonably long description for dish number " + i)
+                    .category("Mains").price(99.5 + i).imageUrl("https://bucket.s3.amazonaws.com/" + i + ".png").build());
+        }
+        snapshot = new CatalogSnapshot(foodRepository, objectMapper, new ExecutorFactory(false),
+                new StaticListableBeanFactory().getBeanProvider(CacheInvalidationBroker.class), Duration.ofHours(1));
+        snapshot.rebuild();
+        filter = new CatalogFastLaneFilter(snapshot);
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshot.shutdown();
+    }
+
+    @Test
+    void servesTheMenuFromTheSnapshot() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/foods"), response, chain);
+
+        assertThat(chainCalls).hasValue(0);
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).isEqualTo("application/json");
+        assertThat(response.getHeader("ETag")).isNotBlank();
+        assertThat(response.getHeader("X-Frame-Options")).isEqualTo("DENY");
+        assertThat(response.getHeader("X-Content-Type-Options")).isEqualTo("nosniff");
+        assertThat(response.getHeader("Strict-Transport-Security")).isNull();
+        JsonNode body = objectMapper.readTree(response.getContentAsByteArray());
+        assertThat(body.path("success").asBoolean()).isTrue();
+        assertThat(body.path("data")).hasSize(100);
+    }
+
+    @Test
+    void servesOneDishAndAnswersNotModifiedForItsETag() throws Exception {
+        String id = foodRepository.findAll().get(0).getId();
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/foods/" + id), first, chain);
+        assertThat(objectMapper.readTree(first.getContentAsByteArray()).path("data").path("id").asText()).isEqualTo(id);
+
+        MockHttpServletRequest revalidation = new MockHttpServletRequest("GET", "/api/foods/" + id);
+        revalidation.addHeader("If-None-Match", first.getHeader("ETag"));
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        filter.doFilter(revalidation, second, chain);
+
+        assertThat(second.getStatus()).isEqualTo(304);
+        assertThat(second.getContentAsByteArray()).isEmpty();
+        assertThat(chainCalls).hasValue(0);
+    }
+
+    @Test
+    void leavesEverythingElseToTheRegularChain() throws Exception {
+        MockHttpServletRequest authenticated = new MockHttpServletRequest("GET", "/api/foods");
+        authenticated.addHeader("Authorization", "Bearer token");
+        MockHttpServletRequest foreignOrigin = new MockHttpServletRequest("GET", "/api/foods");
+        foreignOrigin.addHeader("Origin", "https://elsewhere.example.com");
+        MockHttpServletRequest ndjson = new MockHttpServletRequest("GET", "/api/foods");
+        ndjson.addHeader("Accept", "application/x-ndjson");
+
+        filter.doFilter(authenticated, new MockHttpServletResponse(), chain);
+        filter.doFilter(foreignOrigin, new MockHttpServletResponse(), chain);
+        filter.doFilter(ndjson, new MockHttpServletResponse(), chain);
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/foods/unknown"), new MockHttpServletResponse(), chain);
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/foods"), new MockHttpServletResponse(), chain);
+        assertThat(chainCalls).hasValue(5);
+
+        MockHttpServletRequest frontend = new MockHttpServletRequest("GET", "/api/foods");
+        frontend.addHeader("Origin", "http://localhost:5173");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(frontend, response, chain);
+        assertThat(chainCalls).hasValue(5);
+        assertThat(response.getHeader("Access-Control-Allow-Origin")).isEqualTo("http://localhost:5173");
+    }
+
+    @Test
+    void fallsThroughWhileTheSnapshotIsInvalidated() throws Exception {
+        snapshot.invalidate();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/foods"), new MockHttpServletResponse(), chain);
+        assertThat(chainCalls).hasValue(1);
+
+        snapshot.rebuild();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/foods"), new MockHttpServletResponse(), chain);
+        assertThat(chainCalls).hasValue(1);
+    }
+
+    @Test
+    void addsHstsOnSecureRequests() throws Exception {
+        MockHttpServletRequest secure = new MockHttpServletRequest("GET", "/api/foods");
+        secure.setSecure(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(secure, response, chain);
+
+        assertThat(response.getHeader("Strict-Transport-Security")).isEqualTo("max-age=31536000 ; includeSubDomains");
+    }
+
+    @Test
+    void staysWithinTheAllocationBudgetPerRequest() throws Exception {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads
+                && threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        String id = foodRepository.findAll().get(0).getId();
+        long menu = allocatedBytesPerRequest(request("/api/foods"));
+        long dish = allocatedBytesPerRequest(request("/api/foods/" + id));
+
+        assertThat(menu).as("menu bytes per request").isLessThan(ALLOCATION_BUDGET_BYTES);
+        assertThat(dish).as("dish bytes per request").isLessThan(ALLOCATION_BUDGET_BYTES);
+        assertThat(chainCalls).hasValue(0);
+    }
+
+    private long allocatedBytesPerRequest(HttpServletRequest request) throws Exception {
+        CountingResponse response = new CountingResponse();
+        // Let the JIT settle first; what is left is what every request pays
+        for (int i = 0; i < 50_000; i++) {
+            filter.doFilter(request, response, chain);
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int requests = 10_000;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < requests; i++) {
+            filter.doFilter(request, response, chain);
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+        assertThat(response.status).isEqualTo(200);
+        assertThat(response.bytesWritten).isPositive();
+        return allocated / requests;
+    }
+
+    // Plain header lookups, so the measurement is the filter's and not the mock's case-insensitive header map
+    private static HttpServletRequest request(String uri) {
+        Map<String, String> headers = Map.of("Accept", "application/json");
+        return new HttpServletRequestWrapper(new MockHttpServletRequest("GET", uri)) {
+            @Override
+            public String getHeader(String name) {
+                return headers.get(name);
+            }
+        };
+    }
+
+    private static final class CountingResponse extends HttpServletResponseWrapper {
+        private final Map<String, String> headers = new HashMap<>();
+        private int status;
+        private long bytesWritten;
+        private final ServletOutputStream body = new ServletOutputStream() {
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {
+            }
+
+            @Override
+            public void write(int b) {
+                bytesWritten++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                bytesWritten += len;
+            }
+        };
+
+        private CountingResponse() {
+            super(new MockHttpServletResponse());
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            headers.put(name, value);
+        }
+
+        @Override
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        @Override
+        public void setContentType(String type) {
+            headers.put("Content-Type", type);
+        }
+
+        @Override
+        public void setContentLength(int length) {
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return body;
+        }
+    }
+}
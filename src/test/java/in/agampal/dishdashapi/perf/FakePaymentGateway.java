@@ -0,0 +1,30 @@
+package in.agampal.dishdashapi.perf;
+
+import com.razorpay.RazorpayException;
+import in.agampal.dishdashapi.service.PaymentGateway;
+import in.agampal.dishdashapi.util.ExternalCallMetrics;
+import org.bson.types.ObjectId;
+
+/**
+ * Hands out Razorpay-shaped order ids without calling out, after the {@code payment} faults. Signatures
+ * are still checked by the service against {@code razorpay_secret}, so load tests sign callbacks with the
+ * perf secret.
+ */
+public class FakePaymentGateway implements PaymentGateway {
+
+    private final FaultInjector faultInjector;
+    private final ExternalCallMetrics externalCallMetrics;
+
+    public FakePaymentGateway(FaultInjector faultInjector, ExternalCallMetrics externalCallMetrics) {
+        this.faultInjector = faultInjector;
+        this.externalCallMetrics = externalCallMetrics;
+    }
+
+    @Override
+    public String createOrder(double amount, String currency) throws RazorpayException {
+        return externalCallMetrics.time("razorpay", "createOrder", () -> {
+            faultInjector.inject("payment", () -> new RazorpayException("Injected fault in createOrder"));
+            return "order_" + new ObjectId().toHexString();
+        });
+    }
+}
@@ -0,0 +1,62 @@
+package in.agampal.dishdashapi.perf;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps object sizes by key instead of uploading. Any S3 operation other than put and delete
+ * fails with the SDK's default UnsupportedOperationException. Put and delete honour the {@code s3} faults.
+ */
+public class FakeS3Client implements S3Client {
+
+    private final Map<String, Long> objects = new ConcurrentHashMap<>();
+    private final FaultInjector faultInjector;
+
+    public FakeS3Client(FaultInjector faultInjector) {
+        this.faultInjector = faultInjector;
+    }
+
+    @Override
+    public PutObjectResponse putObject(PutObjectRequest request, RequestBody body) {
+        faultInjector.inject("s3", () -> injectedFault("PutObject"));
+        objects.put(request.bucket() + "/" + request.key(), body.optionalContentLength().orElse(0L));
+        PutObjectResponse.Builder response = PutObjectResponse.builder();
+        response.sdkHttpResponse(SdkHttpResponse.builder().statusCode(200).build());
+        return response.build();
+    }
+
+    @Override
+    public DeleteObjectResponse deleteObject(DeleteObjectRequest request) {
+        faultInjector.inject("s3", () -> injectedFault("DeleteObject"));
+        objects.remove(request.bucket() + "/" + request.key());
+        DeleteObjectResponse.Builder response = DeleteObjectResponse.builder();
+        response.sdkHttpResponse(SdkHttpResponse.builder().statusCode(204).build());
+        return response.build();
+    }
+
+    private static S3Exception injectedFault(String operation) {
+        return (S3Exception) S3Exception.builder().statusCode(503).message("Injected fault in " + operation).build();
+    }
+
+    public int objectCount() {
+        return objects.size();
+    }
+
+    @Override
+    public String serviceName() {
+        return SERVICE_NAME;
+    }
+
+    @Override
+    public void close() {
+    }
+}
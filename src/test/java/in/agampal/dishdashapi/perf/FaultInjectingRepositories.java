@@ -0,0 +1,43 @@
+package in.agampal.dishdashapi.perf;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.repository.Repository;
+
+/**
+ * When {@code faults.mongo.*} is set, wraps every repository in a proxy that runs the {@code mongo} faults before each call, so the services
+ * see the latency and failures a degraded database would give them. The injector is looked up lazily:
+ * this post-processor is created before the meter registry it depends on.
+ */
+public class FaultInjectingRepositories implements BeanPostProcessor {
+
+    private final ObjectProvider<FaultInjector> faultInjector;
+    private final boolean enabled;
+
+    public FaultInjectingRepositories(ObjectProvider<FaultInjector> faultInjector, Environment environment) {
+        this.faultInjector = faultInjector;
+        this.enabled = Binder.get(environment).bind("faults.mongo", FaultInjector.Fault.class).isBound();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled || !(bean instanceof Repository<?, ?>)) {
+            return bean;
+        }
+        ProxyFactory proxy = new ProxyFactory(bean);
+        proxy.addAdvice((MethodInterceptor) invocation -> {
+            if (invocation.getMethod().getDeclaringClass() == Object.class) {
+                return invocation.proceed();
+            }
+            faultInjector.getObject().inject("mongo",
+                    () -> new DataAccessResourceFailureException("Injected fault in " + beanName + "." + invocation.getMethod().getName()));
+            return invocation.proceed();
+        });
+        return proxy.getProxy();
+    }
+}
@@ -0,0 +1,89 @@
+package in.agampal.dishdashapi.perf;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Degrades the perf stand-ins for a dependency ({@code s3}, {@code payment}, {@code mongo}) as configured
+ * under {@code faults.<target>.*}:
+ * <ul>
+ *   <li>{@code latency}: median added latency; with {@code latency-p99} the delay is log-normal with that
+ *   median and 99th percentile, otherwise fixed.</li>
+ *   <li>{@code error-rate}: fraction of calls that fail after the delay, with the dependency's own exception.</li>
+ *   <li>{@code stall-rate} and {@code stall}: fraction of calls that hang for {@code stall} instead.</li>
+ * </ul>
+ * Targets without configuration are untouched. Injections are counted as {@code faults.injected}.
+ */
+@Slf4j
+public class FaultInjector {
+
+    public record Fault(Duration latency, Duration latencyP99, double errorRate, double stallRate, Duration stall) {
+    }
+
+    // z-score of the 99th percentile of the standard normal distribution
+    private static final double Z_99 = 2.3263;
+
+    private final Map<String, Fault> faults;
+    private final MeterRegistry meterRegistry;
+
+    public FaultInjector(Environment environment, MeterRegistry meterRegistry) {
+        this.faults = Binder.get(environment)
+                .bind("faults", Bindable.mapOf(String.class, Fault.class))
+                .orElse(Map.of());
+        this.meterRegistry = meterRegistry;
+        if (!faults.isEmpty()) {
+            log.warn("Fault injection active: {}", faults);
+        }
+    }
+
+    public <E extends Exception> void inject(String target, Supplier<E> error) throws E {
+        Fault fault = faults.get(target);
+        if (fault == null) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (fault.stall() != null && random.nextDouble() < fault.stallRate()) {
+            count(target, "stall");
+            sleep(fault.stall().toNanos());
+        } else if (fault.latency() != null) {
+            sleep(delayNanos(fault, random));
+        }
+        if (random.nextDouble() < fault.errorRate()) {
+            count(target, "error");
+            throw error.get();
+        }
+    }
+
+    static long delayNanos(Fault fault, ThreadLocalRandom random) {
+        long median = fault.latency().toNanos();
+        if (fault.latencyP99() == null || fault.latencyP99().toNanos() <= median || median <= 0) {
+            return median;
+        }
+        double sigma = Math.log((double) fault.latencyP99().toNanos() / median) / Z_99;
+        return (long) (median * Math.exp(sigma * random.nextGaussian()));
+    }
+
+    private void count(String target, String kind) {
+        meterRegistry.counter("faults.injected", "target", target, "kind", kind).increment();
+    }
+
+    // Blocks the calling thread like a slow socket read would; that is the point
+    private static void sleep(long nanos) {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
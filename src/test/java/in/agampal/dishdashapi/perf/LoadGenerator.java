@@ -0,0 +1,318 @@
+package in.agampal.dishdashapi.perf;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.agampal.dishdashapi.util.Zipf;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load against a node running the {@code perf} profile. Each virtual user logs in once, then
+ * repeats: browse the menu, open a few dishes (Zipf-skewed, so a handful are hot), add one to the cart,
+ * create an order, post a signed payment callback and read the order history. Prints throughput and
+ * p50/p99/p99.9 per endpoint. With an upload ratio, some iterations also add a dish with an image.
+ *
+ * <pre>java ... LoadGenerator http://localhost:8080 64 60</pre>
+ * (base URL, virtual users, seconds). The password and signing secret default to application-perf.properties;
+ * {@code -Dload.email-pattern=seed-user-%d@example.com -Dload.accounts=<n> -Dload.password=...} targets seeded accounts.
+ * Against a seeded node with {@code reactive-reads.enabled=true}, {@code -Dload.reactive-reads=true} sends the reads
+ * to the reactive controller, so the same run can be compared on threads and {@code mongodb.driver.pool.*}.
+ */
+public class LoadGenerator {
+
+    public record Settings(String baseUrl, int users, Duration duration, String emailPattern, int accounts, String password,
+                           String razorpaySecret, double zipfExponent, double uploadRatio, boolean reactiveReads) {
+
+        public static Settings defaults(String baseUrl) {
+            return new Settings(baseUrl, 32, Duration.ofSeconds(30), "perf-user-%d@example.com", 1000, "perf-password",
+                    "perf-razorpay-secret", 1.1, 0, false);
+        }
+
+        public Settings withLoad(int users, Duration duration) {
+            return new Settings(baseUrl, users, duration, emailPattern, accounts, password, razorpaySecret, zipfExponent, uploadRatio, reactiveReads);
+        }
+
+        // Log in as the accounts DataSeeder created instead of the perf profile's own
+        public Settings withAccounts(String emailPattern, int accounts, String password) {
+            return new Settings(baseUrl, users, duration, emailPattern, accounts, password, razorpaySecret, zipfExponent, uploadRatio, reactiveReads);
+        }
+
+        // Fraction of iterations that also add a dish with an image, which is what exercises S3
+        public Settings withUploadRatio(double uploadRatio) {
+            return new Settings(baseUrl, users, duration, emailPattern, accounts, password, razorpaySecret, zipfExponent, uploadRatio, reactiveReads);
+        }
+
+        // Ask for NDJSON on the catalog and order reads, which the app serves reactively with reactive-reads.enabled
+        public Settings withReactiveReads(boolean reactiveReads) {
+            return new Settings(baseUrl, users, duration, emailPattern, accounts, password, razorpaySecret, zipfExponent, uploadRatio, reactiveReads);
+        }
+    }
+
+    public record EndpointStats(long requests, long errors, double p50Ms, double p99Ms, double p999Ms) {
+    }
+
+    public record Report(Duration elapsed, Map<String, EndpointStats> endpoints) {
+
+        public long requests() {
+            return endpoints.values().stream().mapToLong(EndpointStats::requests).sum();
+        }
+
+        public long errors() {
+            return endpoints.values().stream().mapToLong(EndpointStats::errors).sum();
+        }
+
+        public double throughput() {
+            return requests() / (elapsed.toNanos() / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder out = new StringBuilder(String.format("%d requests in %.1f s (%.0f req/s), %d errors%n",
+                    requests(), elapsed.toMillis() / 1000.0, throughput(), errors()));
+            out.append(String.format("%-24s %9s %7s %9s %9s %9s%n", "endpoint", "requests", "errors", "p50 ms", "p99 ms", "p99.9 ms"));
+            endpoints.forEach((name, stats) -> out.append(String.format("%-24s %9d %7d %9.2f %9.2f %9.2f%n",
+                    name, stats.requests(), stats.errors(), stats.p50Ms(), stats.p99Ms(), stats.p999Ms())));
+            return out.toString();
+        }
+    }
+
+    // Per-thread latency log; merged once at the end so recording never contends
+    private static final class Samples {
+        private long[] nanos = new long[4096];
+        private int size;
+        private long errors;
+
+        void add(long value) {
+            if (size == nanos.length) {
+                nanos = Arrays.copyOf(nanos, size * 2);
+            }
+            nanos[size++] = value;
+        }
+    }
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final Settings settings;
+    private final HttpClient client;
+    private final Map<String, List<Samples>> samples = new ConcurrentHashMap<>();
+    private final AtomicLong orderCounter = new AtomicLong();
+
+    public LoadGenerator(Settings settings) {
+        this.settings = settings;
+        // Virtual threads keep thousands of simulated users cheap, so the generator doesn't skew memory figures
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.defaults(args.length > 0 ? args[0] : "http://localhost:8080");
+        if (args.length > 2) {
+            settings = settings.withLoad(Integer.parseInt(args[1]), Duration.ofSeconds(Long.parseLong(args[2])));
+        }
+        settings = settings.withReactiveReads(Boolean.getBoolean("load.reactive-reads"));
+        if (System.getProperty("load.email-pattern") != null) {
+            settings = settings.withAccounts(System.getProperty("load.email-pattern"),
+                    Integer.getInteger("load.accounts", 1000), System.getProperty("load.password", settings.password()));
+        }
+        System.out.print(new LoadGenerator(settings).run());
+    }
+
+    public Report run() throws Exception {
+        List<String> foodIds = foodIds();
+        Zipf zipf = new Zipf(foodIds.size(), settings.zipfExponent());
+        long deadline = System.nanoTime() + settings.duration().toNanos();
+
+        ExecutorService users = Executors.newVirtualThreadPerTaskExecutor();
+        long start = System.nanoTime();
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < settings.users(); i++) {
+            int user = i;
+            running.add(users.submit(() -> {
+                virtualUser(user, foodIds, zipf, deadline);
+                return null;
+            }));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        users.shutdown();
+        return report(elapsed);
+    }
+
+    private void virtualUser(int user, List<String> foodIds, Zipf zipf, long deadline) throws Exception {
+        Map<String, Samples> mine = new LinkedHashMap<>();
+        SplittableRandom random = new SplittableRandom(user);
+        String email = String.format(settings.emailPattern(), user % settings.accounts());
+        JsonNode login = call(mine, "POST /api/auth/login", post("/api/auth/login", null,
+                Map.of("email", email, "password", settings.password())));
+        String token = login == null ? null : login.path("data").path("accessToken").asText(null);
+        if (token == null) {
+            return;
+        }
+
+        while (System.nanoTime() < deadline) {
+            call(mine, "GET /api/foods", read("/api/foods", null));
+            String foodId = null;
+            for (int i = 0; i < 3; i++) {
+                foodId = foodIds.get(zipf.sample(random));
+                call(mine, "GET /api/foods/{id}", read("/api/foods/" + foodId, null));
+            }
+            call(mine, "POST /api/cart", post("/api/cart", token, Map.of("foodId", foodId)));
+
+            Map<String, Object> item = Map.of("foodId", foodId, "quantity", 1, "price", 199.0, "name", "Dish");
+            JsonNode order = call(mine, "POST /api/orders/create", post("/api/orders/create", token, Map.of(
+                    "orderedItems", List.of(item), "userAddress", "1 Load Test Lane", "amount", 199.0,
+                    "email", email, "phoneNumber", "9999999999")));
+            String razorpayOrderId = order == null ? null : order.path("razorpayOrderId").asText(null);
+            if (razorpayOrderId != null) {
+                String paymentId = "pay_" + orderCounter.incrementAndGet();
+                call(mine, "POST /api/orders/verify", post("/api/orders/verify", token, Map.of(
+                        "razorpay_order_id", razorpayOrderId,
+                        "razorpay_payment_id", paymentId,
+                        "razorpay_signature", sign(razorpayOrderId + "|" + paymentId))));
+            }
+            call(mine, "GET /api/orders", read("/api/orders", token));
+            if (random.nextDouble() < settings.uploadRatio()) {
+                call(mine, "POST /api/foods", upload(token, user));
+            }
+        }
+        mine.forEach((name, recorded) -> samples.computeIfAbsent(name, k -> new CopyOnWriteArrayList<>()).add(recorded));
+    }
+
+    private JsonNode call(Map<String, Samples> mine, String name, HttpRequest request) {
+        Samples recorded = mine.computeIfAbsent(name, k -> new Samples());
+        long start = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            recorded.add(System.nanoTime() - start);
+            if (response.statusCode() >= 400) {
+                recorded.errors++;
+                return null;
+            }
+            return response.body().length == 0 ? null : JSON.readTree(response.body());
+        } catch (IOException ex) {
+            recorded.add(System.nanoTime() - start);
+            recorded.errors++;
+            return null;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private List<String> foodIds() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(get("/api/foods", null), HttpResponse.BodyHandlers.ofByteArray());
+        List<String> ids = new ArrayList<>();
+        JSON.readTree(response.body()).path("data").forEach(food -> ids.add(food.path("id").asText()));
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No foods at " + settings.baseUrl() + "; is the perf profile active?");
+        }
+        return ids;
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest read(String path, String token) {
+        HttpRequest.Builder builder = request(path, token).GET();
+        return settings.reactiveReads() ? builder.header("Accept", "application/x-ndjson").build() : builder.build();
+    }
+
+    private HttpRequest post(String path, String token, Object body) {
+        try {
+            return request(path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)))
+                    .build();
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(ex);
+        }
+    }
+
+    private HttpRequest upload(String token, int user) {
+        String boundary = "perf-" + System.nanoTime();
+        String food = "{\"name\":\"Load test dish " + user + "\",\"description\":\"Uploaded under load\","
+                + "\"price\":149,\"category\":\"Rolls\"}";
+        byte[] image = new byte[32 * 1024];
+        String body = "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"food\"\r\nContent-Type: application/json\r\n\r\n"
+                + food + "\r\n"
+                + "--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"dish.png\"\r\nContent-Type: image/png\r\n\r\n";
+        String end = "\r\n--" + boundary + "--\r\n";
+        return request("/api/foods", token)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofString(body),
+                        HttpRequest.BodyPublishers.ofByteArray(image),
+                        HttpRequest.BodyPublishers.ofString(end)))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(settings.baseUrl() + path)).timeout(Duration.ofSeconds(30));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(settings.razorpaySecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private Report report(Duration elapsed) {
+        Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+        samples.entrySet().stream().sorted(Map.Entry.comparingByKey()).forEach(entry -> {
+            int total = entry.getValue().stream().mapToInt(s -> s.size).sum();
+            long errors = entry.getValue().stream().mapToLong(s -> s.errors).sum();
+            long[] all = new long[total];
+            int offset = 0;
+            for (Samples recorded : entry.getValue()) {
+                System.arraycopy(recorded.nanos, 0, all, offset, recorded.size);
+                offset += recorded.size;
+            }
+            Arrays.sort(all);
+            endpoints.put(entry.getKey(), new EndpointStats(total, errors,
+                    percentile(all, 0.50), percentile(all, 0.99), percentile(all, 0.999)));
+        });
+        return new Report(elapsed, endpoints);
+    }
+
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+}
@@ -0,0 +1,120 @@
+package in.agampal.dishdashapi.perf;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Duration;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the app on the perf profile and drives it with {@link LoadGenerator}. Long-running, so it only
+ * runs with {@code -Dperf=true}. {@code -Dperf.scenario=<name>} picks a file from
+ * {@code src/test/resources/perf/scenarios}: its {@code faults.*} and server keys configure the app,
+ * its {@code load.*} keys size the run. Besides the per-endpoint report it prints how many Tomcat request
+ * threads were busy at peak and for how much of the run the pool was exhausted, the peak platform thread
+ * count and the peak heap. The platform-threads and virtual-threads scenarios compare the two execution modes
+ * under the same load; the generator runs in the same JVM on virtual threads, so its own footprint is small.
+ * Pinned virtual threads show up at {@code /actuator/pinning} and as {@code jvm.threads.virtual.pinned}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("perf")
+@EnabledIfSystemProperty(named = "perf", matches = "true")
+class LoadGeneratorTest {
+
+    private static final Properties SCENARIO = scenario(System.getProperty("perf.scenario", "baseline"));
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void scenarioProperties(DynamicPropertyRegistry registry) {
+        SCENARIO.stringPropertyNames().stream()
+                .filter(name -> !name.startsWith("load."))
+                .forEach(name -> registry.add(name, () -> SCENARIO.getProperty(name)));
+    }
+
+    @Test
+    void scenarioUnderLoad() throws Exception {
+        LoadGenerator.Settings settings = LoadGenerator.Settings.defaults("http://localhost:" + port)
+                .withLoad(Integer.parseInt(SCENARIO.getProperty("load.users", "32")),
+                        Duration.ofSeconds(Long.parseLong(SCENARIO.getProperty("load.seconds", "30"))))
+                .withUploadRatio(Double.parseDouble(SCENARIO.getProperty("load.upload-ratio", "0")));
+        double maxErrorRate = Double.parseDouble(SCENARIO.getProperty("load.max-error-rate", "0.01"));
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+        AtomicLong peakHeap = new AtomicLong();
+        AtomicInteger peakBusy = new AtomicInteger();
+        AtomicLong samples = new AtomicLong();
+        AtomicLong exhausted = new AtomicLong();
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor();
+        sampler.scheduleAtFixedRate(() -> {
+            peakHeap.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+            Gauge busy = meterRegistry.find("tomcat.threads.busy").gauge();
+            Gauge max = meterRegistry.find("tomcat.threads.config.max").gauge();
+            if (busy != null && max != null) {
+                peakBusy.accumulateAndGet((int) busy.value(), Math::max);
+                samples.incrementAndGet();
+                exhausted.addAndGet(busy.value() >= max.value() ? 1 : 0);
+            }
+        }, 0, 100, TimeUnit.MILLISECONDS);
+
+        LoadGenerator.Report report;
+        try {
+            report = new LoadGenerator(settings).run();
+        } finally {
+            sampler.shutdownNow();
+        }
+
+        Gauge max = meterRegistry.find("tomcat.threads.config.max").gauge();
+        System.out.print(report);
+        System.out.printf("request threads: peak %d busy of %s, pool exhausted %.1f%% of the run%n",
+                peakBusy.get(), max == null ? "?" : String.valueOf((int) max.value()),
+                samples.get() == 0 ? 0 : 100.0 * exhausted.get() / samples.get());
+        System.out.printf("virtual threads: %s, peak platform threads: %d, peak heap used: %d MB%n",
+                SCENARIO.getProperty("spring.threads.virtual.enabled", "false"), threads.getPeakThreadCount(),
+                peakHeap.get() / (1024 * 1024));
+        meterRegistry.find("jvm.threads.virtual.pinned").timers().forEach(timer ->
+                System.out.printf("pinned at %s: %d times, %.0f ms total%n", timer.getId().getTag("site"), timer.count(),
+                        timer.totalTime(TimeUnit.MILLISECONDS)));
+        meterRegistry.find("faults.injected").counters().forEach(counter ->
+                System.out.printf("injected %s %s: %.0f%n", counter.getId().getTag("target"), counter.getId().getTag("kind"), counter.count()));
+
+        assertThat(report.requests()).isPositive();
+        assertThat((double) report.errors()).isLessThanOrEqualTo(report.requests() * maxErrorRate);
+    }
+
+    private static Properties scenario(String name) {
+        try {
+            return PropertiesLoaderUtils.loadProperties(new ClassPathResource("perf/scenarios/" + name + ".properties"));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unknown perf scenario " + name, ex);
+        }
+    }
+}
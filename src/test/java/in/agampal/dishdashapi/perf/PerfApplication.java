@@ -0,0 +1,15 @@
+package in.agampal.dishdashapi.perf;
+
+import in.agampal.dishdashapi.FoodiesapiApplication;
+import org.springframework.boot.SpringApplication;
+
+/**
+ * Starts the app from the test classpath, where the perf profile's stand-ins live:
+ * <pre>mvn spring-boot:test-run -Dspring-boot.run.profiles=perf</pre>
+ */
+public class PerfApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.from(FoodiesapiApplication::main).run(args);
+    }
+}
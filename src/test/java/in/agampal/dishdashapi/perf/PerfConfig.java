@@ -0,0 +1,89 @@
+package in.agampal.dishdashapi.perf;
+
+import in.agampal.dishdashapi.entity.FoodEntity;
+import in.agampal.dishdashapi.entity.UserEntity;
+import in.agampal.dishdashapi.repository.FoodRepository;
+import in.agampal.dishdashapi.repository.UserRepository;
+import in.agampal.dishdashapi.service.PaymentGateway;
+import in.agampal.dishdashapi.util.ExternalCallMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import software.amazon.awssdk.services.s3.S3Client;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The {@code perf} profile: in-memory repositories (repository.memory), no outbound S3 or Razorpay calls,
+ * and a seeded catalog and user base, so load tests measure this service and not its dependencies.
+ * {@code faults.*} degrades those stand-ins on purpose (see {@link FaultInjector}).
+ * Seeded users are {@code perf-user-<n>@example.com} with the password {@code perf.seed.password}.
+ */
+@Configuration
+@Profile("perf")
+@Slf4j
+public class PerfConfig {
+
+    private static final String[] CATEGORIES = {"Biryani", "Pizza", "Burger", "Rolls", "Salad", "Dessert", "Beverage"};
+
+    @Bean
+    public FaultInjector faultInjector(Environment environment, MeterRegistry meterRegistry) {
+        return new FaultInjector(environment, meterRegistry);
+    }
+
+    @Bean
+    public static FaultInjectingRepositories faultInjectingRepositories(ObjectProvider<FaultInjector> faultInjector,
+                                                                        Environment environment) {
+        return new FaultInjectingRepositories(faultInjector, environment);
+    }
+
+    @Bean
+    public S3Client s3Client(FaultInjector faultInjector) {
+        return new FakeS3Client(faultInjector);
+    }
+
+    @Bean
+    public PaymentGateway paymentGateway(FaultInjector faultInjector, ExternalCallMetrics externalCallMetrics) {
+        return new FakePaymentGateway(faultInjector, externalCallMetrics);
+    }
+
+    // Runs before ApplicationReadyEvent, so the startup warm-up sees the seeded data. With the seed profile
+    // DataSeeder fills the repositories instead
+    @Bean
+    @Profile("!seed")
+    public ApplicationRunner perfSeed(FoodRepository foodRepository, UserRepository userRepository, PasswordEncoder passwordEncoder,
+                                      @Value("${perf.seed.foods:200}") int foods,
+                                      @Value("${perf.seed.users:1000}") int users,
+                                      @Value("${perf.seed.password:perf-password}") String password) {
+        return args -> {
+            List<FoodEntity> catalog = new ArrayList<>(foods);
+            for (int i = 0; i < foods; i++) {
+                catalog.add(FoodEntity.builder()
+                        .name("Dish " + i)
+                        .description("Seeded dish number " + i + " for load tests")
+                        .price(50 + (i * 37) % 450)
+                        .category(CATEGORIES[i % CATEGORIES.length])
+                        .imageUrl("https://perf.invalid/foods/" + i + ".png")
+                        .build());
+            }
+            foodRepository.saveAll(catalog);
+
+            // One BCrypt hash for everyone: hashing thousands of passwords would dominate startup
+            String hash = passwordEncoder.encode(password);
+            List<UserEntity> accounts = new ArrayList<>(users);
+            for (int i = 0; i < users; i++) {
+                accounts.add(UserEntity.builder().name("Perf User " + i).email("perf-user-" + i + "@example.com").password(hash).build());
+            }
+            userRepository.saveAll(accounts);
+            log.info("Seeded {} foods and {} users for the perf profile", foods, users);
+        };
+    }
+}
@@ -0,0 +1,157 @@
+package in.agampal.dishdashapi.perf;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Startup time and time to first request for the artifacts of {@code mvn -Pfast-start package}: the plain jar, the
+ * extracted jar with the CDS archive, and the same with AOT-processed beans. Each mode is launched once as a discarded
+ * warm-up and then {@code runs} times with identical flags on the same port, one JVM at a time. Reports the median and
+ * best of Spring's own "Started ... in" time and of the wall time from launching the JVM to the first 200 from
+ * {@code /api/health}.
+ *
+ * <pre>java ... StartupBenchmark target foodiesapi-0.0.1-SNAPSHOT.jar 5</pre>
+ * (build directory, jar name, runs). Extra JVM flags for every mode go in {@code -Dstartup.jvm-args}, the port in
+ * {@code -Dstartup.port}. No Mongo is needed: the database work at startup (warm-up, payment recovery) runs in the
+ * background and only logs when the database is unreachable, so without one the numbers leave those reads out. To
+ * include them, point {@code spring.data.mongodb.uri} at a database through {@code -Dstartup.jvm-args}.
+ */
+public class StartupBenchmark {
+
+    private record Mode(String name, Path workingDirectory, List<String> jvmArgs) {
+    }
+
+    private record Sample(double startedSeconds, double firstRequestSeconds) {
+    }
+
+    private static final Pattern STARTED = Pattern.compile("Started \\w+ in ([0-9.]+) seconds");
+    private static final Duration TIMEOUT = Duration.ofSeconds(120);
+
+    private final String jar;
+    private final int port;
+    private final List<String> commonJvmArgs;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    public StartupBenchmark(String jar, int port, List<String> commonJvmArgs) {
+        this.jar = jar;
+        this.port = port;
+        this.commonJvmArgs = commonJvmArgs;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Path target = Path.of(args.length > 0 ? args[0] : "target");
+        String jar = args.length > 1 ? args[1] : "foodiesapi-0.0.1-SNAPSHOT.jar";
+        int runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        String jvmArgs = System.getProperty("startup.jvm-args", "").trim();
+        StartupBenchmark benchmark = new StartupBenchmark(jar, Integer.getInteger("startup.port", 18080),
+                jvmArgs.isEmpty() ? List.of() : Arrays.asList(jvmArgs.split("\\s+")));
+
+        Path extracted = target.resolve("application");
+        List<Mode> modes = List.of(
+                new Mode("jar", target, List.of()),
+                new Mode("extracted + CDS", extracted, List.of("-XX:SharedArchiveFile=application.jsa")),
+                new Mode("extracted + CDS + AOT", extracted, List.of("-XX:SharedArchiveFile=application.jsa", "-Dspring.aot.enabled=true")));
+
+        System.out.printf("Java %s, %d runs per mode, JVM flags %s%n", Runtime.version(), runs, benchmark.commonJvmArgs);
+        for (Mode mode : modes) {
+            if (!Files.exists(mode.workingDirectory().resolve(jar))) {
+                System.out.printf("%-24s skipped: no %s in %s%n", mode.name(), jar, mode.workingDirectory());
+                continue;
+            }
+            benchmark.launch(mode);
+            List<Sample> samples = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                samples.add(benchmark.launch(mode));
+            }
+            double[] started = samples.stream().mapToDouble(Sample::startedSeconds).sorted().toArray();
+            double[] firstRequest = samples.stream().mapToDouble(Sample::firstRequestSeconds).sorted().toArray();
+            System.out.printf("%-24s started p50 %6.2f s (best %6.2f s)   first request p50 %6.2f s (best %6.2f s)%n",
+                    mode.name(), started[started.length / 2], started[0], firstRequest[firstRequest.length / 2], firstRequest[0]);
+        }
+    }
+
+    Sample launch(Mode mode) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(commonJvmArgs);
+        command.addAll(mode.jvmArgs());
+        command.addAll(List.of("-jar", jar, "--server.port=" + port));
+
+        long launched = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(mode.workingDirectory().toFile())
+                .redirectErrorStream(true)
+                .start();
+        CompletableFuture<Double> started = new CompletableFuture<>();
+        Thread reader = new Thread(() -> readLog(process, started), "startup-log");
+        reader.setDaemon(true);
+        reader.start();
+        try {
+            double firstRequest = awaitFirstRequest(process, mode, launched);
+            // Tomcat accepts requests just before the context logs that it has started
+            return new Sample(started.get(10, TimeUnit.SECONDS), firstRequest);
+        } catch (TimeoutException ex) {
+            throw new IllegalStateException(mode.name() + " answered but never logged its startup time", ex);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private double awaitFirstRequest(Process process, Mode mode, long launched) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/health"))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+        long deadline = launched + TIMEOUT.toNanos();
+        while (true) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(mode.name() + " exited with status " + process.exitValue());
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException(mode.name() + " did not answer within " + TIMEOUT.toSeconds() + " s");
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return (System.nanoTime() - launched) / 1e9;
+                }
+            } catch (IOException notListeningYet) {
+                // keep polling until the port opens
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    // Drains the child's output so it never blocks on a full pipe, and picks out Spring's startup line
+    private static void readLog(Process process, CompletableFuture<Double> started) {
+        try (BufferedReader lines = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = lines.readLine()) != null) {
+                Matcher matcher = STARTED.matcher(line);
+                if (!started.isDone() && matcher.find()) {
+                    started.complete(Double.parseDouble(matcher.group(1)));
+                }
+            }
+        } catch (IOException ex) {
+            started.completeExceptionally(ex);
+        }
+    }
+}
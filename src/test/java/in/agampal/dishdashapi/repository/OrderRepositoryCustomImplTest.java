@@ -0,0 +1,77 @@
+package in.agampal.dishdashapi.repository;
+
+import in.agampal.dishdashapi.entity.OrderStatus;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.util.OrderCursor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderRepositoryCustomImplTest {
+
+    @Test
+    void transitionMatchesOnlyLegalPredecessorsOfTheTarget() {
+        Document query = OrderRepositoryCustomImpl.transitionQuery("64b000000000000000000001", OrderStatus.DELIVERED).getQueryObject();
+
+        assertThat(query.toJson()).contains("\"_id\": \"64b000000000000000000001\"", "Out for delivery").doesNotContain("$nin");
+    }
+
+    @Test
+    void transitionFromTheInitialStateAlsoMatchesUnknownLegacyValues() {
+        Document query = OrderRepositoryCustomImpl.transitionQuery("64b000000000000000000001", OrderStatus.CANCELLED).getQueryObject();
+
+        List<Document> current = query.getList("$and", Document.class).get(1).getList("$or", Document.class);
+        assertThat(current.get(0).get("orderStatus", Document.class).getList("$in", String.class))
+                .containsExactlyInAnyOrderElementsOf(OrderStatus.CANCELLED.predecessorValues());
+        assertThat(current.get(1).get("orderStatus", Document.class).getList("$nin", String.class))
+                .containsExactlyElementsOf(OrderStatus.knownValues());
+    }
+
+    @Test
+    void feedIsSortedNewestFirstWithTheIdBreakingTies() {
+        Query query = OrderRepositoryCustomImpl.feedQuery(new OrderFeedFilter(), null, 21);
+
+        assertThat(query.getQueryObject()).isEmpty();
+        assertThat(query.getSortObject()).isEqualTo(new Document("createdAt", -1).append("_id", -1));
+        assertThat(query.getLimit()).isEqualTo(21);
+    }
+
+    @Test
+    void cursorContinuesStrictlyAfterTheLastRowEvenWithinTheSameInstant() {
+        Instant createdAt = Instant.parse("2026-01-01T00:00:00Z");
+        Document query = OrderRepositoryCustomImpl.feedQuery(new OrderFeedFilter(),
+                new OrderCursor(createdAt, "64b000000000000000000001"), 21).getQueryObject();
+
+        List<Document> after = query.getList("$and", Document.class).get(0).getList("$or", Document.class);
+        assertThat(after.get(0)).isEqualTo(new Document("createdAt", new Document("$lt", createdAt)));
+        assertThat(after.get(1).getList("$and", Document.class)).containsExactly(
+                new Document("createdAt", createdAt),
+                new Document("_id", new Document("$lt", new ObjectId("64b000000000000000000001"))));
+    }
+
+    @Test
+    void filtersAreCombinedWithTheCursor() {
+        Instant from = Instant.parse("2026-01-01T00:00:00Z");
+        Instant to = Instant.parse("2026-02-01T00:00:00Z");
+        OrderFeedFilter filter = OrderFeedFilter.builder().userId("user-1").orderStatus("Delivered")
+                .paymentStatus("paid").from(from).to(to).build();
+
+        List<Document> criteria = OrderRepositoryCustomImpl.feedQuery(filter,
+                new OrderCursor(Instant.parse("2026-01-15T00:00:00Z"), "64b000000000000000000001"), 21)
+                .getQueryObject().getList("$and", Document.class);
+
+        assertThat(criteria).hasSize(6).startsWith(
+                new Document("userId", "user-1"),
+                new Document("orderStatus", "Delivered"),
+                new Document("paymentStatus", "paid"),
+                new Document("createdAt", new Document("$gte", from)),
+                new Document("createdAt", new Document("$lt", to)));
+        assertThat(criteria.get(5)).containsKey("$or");
+    }
+}
@@ -0,0 +1,155 @@
+package in.agampal.dishdashapi.repository;
+
+import in.agampal.dishdashapi.entity.OrderEntity;
+import in.agampal.dishdashapi.entity.OrderStatus;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.util.OrderCursor;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs {@code explain} for every derived query method on the repositories and for the hand-written
+ * fragment queries, and reports the ones whose winning plan is a collection scan. Argument values are
+ * placeholders: the point is the shape of the filter and sort, not the rows.
+ */
+public class QueryPlanVerifier {
+
+    private final Repositories repositories;
+    private final MongoTemplate mongoTemplate;
+    private final QueryMapper queryMapper;
+
+    public QueryPlanVerifier(ListableBeanFactory beanFactory, MongoTemplate mongoTemplate) {
+        this.repositories = new Repositories(beanFactory);
+        this.mongoTemplate = mongoTemplate;
+        this.queryMapper = new QueryMapper(mongoTemplate.getConverter());
+    }
+
+    /**
+     * Returns one entry per query whose plan collection-scans; empty when every query uses an index.
+     */
+    public List<String> findCollectionScans() {
+        List<String> violations = new ArrayList<>();
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            for (Method method : information.getQueryMethods()) {
+                String label = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                Query query = derivedQuery(method.getName(), domainType);
+                if (isCollectionScan(query, domainType)) {
+                    violations.add(label + " " + query);
+                }
+            }
+        }
+        fragmentQueries().forEach((label, query) -> {
+            if (isCollectionScan(query, OrderEntity.class)) {
+                violations.add(label + " " + query);
+            }
+        });
+        return violations;
+    }
+
+    static Map<String, Query> fragmentQueries() {
+        String sample = new ObjectId().toHexString();
+        OrderCursor cursor = new OrderCursor(Instant.now(), sample);
+        Map<String, OrderFeedFilter> filters = new LinkedHashMap<>();
+        filters.put("all", OrderFeedFilter.builder().build());
+        filters.put("user", OrderFeedFilter.builder().userId(sample).build());
+        filters.put("orderStatus", OrderFeedFilter.builder().orderStatus(OrderStatus.initial().getLabel()).build());
+        filters.put("paymentStatus", OrderFeedFilter.builder().paymentStatus("Paid").build());
+        filters.put("orderStatus+paymentStatus", OrderFeedFilter.builder()
+                .orderStatus(OrderStatus.initial().getLabel()).paymentStatus("Paid").build());
+        filters.put("range", OrderFeedFilter.builder().from(Instant.EPOCH).to(Instant.now()).build());
+
+        Map<String, Query> queries = new LinkedHashMap<>();
+        filters.forEach((name, filter) -> {
+            queries.put("OrderRepositoryCustom.findFeedPage[" + name + "]", OrderRepositoryCustomImpl.feedQuery(filter, null, 21));
+            queries.put("OrderRepositoryCustom.findFeedPage[" + name + ", cursor]", OrderRepositoryCustomImpl.feedQuery(filter, cursor, 21));
+        });
+        queries.put("OrderRepositoryCustom.transitionStatus", OrderRepositoryCustomImpl.transitionQuery(sample, OrderStatus.DELIVERED));
+        queries.put("OrderRepositoryCustom.applyPayments", OrderRepositoryCustomImpl.paymentQuery(sample));
+        return queries;
+    }
+
+    private static Query derivedQuery(String methodName, Class<?> domainType) {
+        PartTree tree = new PartTree(methodName, domainType);
+        List<Criteria> orCriteria = new ArrayList<>();
+        for (PartTree.OrPart orPart : tree) {
+            List<Criteria> andCriteria = new ArrayList<>();
+            for (Part part : orPart) {
+                andCriteria.add(criteria(part));
+            }
+            orCriteria.add(andCriteria.size() == 1 ? andCriteria.get(0) : new Criteria().andOperator(andCriteria));
+        }
+        Query query = new Query();
+        if (orCriteria.size() == 1) {
+            query.addCriteria(orCriteria.get(0));
+        } else if (!orCriteria.isEmpty()) {
+            query.addCriteria(new Criteria().orOperator(orCriteria));
+        }
+        query.with(tree.getSort());
+        if (tree.isLimiting()) {
+            query.limit(tree.getMaxResults());
+        }
+        return query;
+    }
+
+    private static Criteria criteria(Part part) {
+        Criteria where = Criteria.where(part.getProperty().toDotPath());
+        Object sample = new ObjectId().toHexString();
+        return switch (part.getType()) {
+            case IN -> where.in(List.of(sample));
+            case NOT_IN -> where.nin(List.of(sample));
+            case EXISTS -> where.exists(true);
+            case IS_NULL -> where.is(null);
+            case IS_NOT_NULL -> where.ne(null);
+            case GREATER_THAN -> where.gt(sample);
+            case GREATER_THAN_EQUAL -> where.gte(sample);
+            case LESS_THAN -> where.lt(sample);
+            case LESS_THAN_EQUAL -> where.lte(sample);
+            case BETWEEN -> where.gt(sample).lt(sample);
+            default -> where.is(sample);
+        };
+    }
+
+    private boolean isCollectionScan(Query query, Class<?> domainType) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(domainType);
+        Document filter = queryMapper.getMappedObject(query.getQueryObject(), entity);
+        Document sort = queryMapper.getMappedSort(query.getSortObject(), entity);
+        Document explain = mongoTemplate.getCollection(entity.getCollection())
+                .find(filter)
+                .sort(sort)
+                .limit(query.getLimit())
+                .explain();
+        Document planner = explain.get("queryPlanner", Document.class);
+        return planner != null && containsStage(planner.get("winningPlan"), "COLLSCAN");
+    }
+
+    private static boolean containsStage(Object plan, String stage) {
+        if (plan instanceof Document document) {
+            if (stage.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.values().stream().anyMatch(value -> containsStage(value, stage));
+        }
+        if (plan instanceof List<?> list) {
+            return list.stream().anyMatch(value -> containsStage(value, stage));
+        }
+        return false;
+    }
+}
@@ -0,0 +1,33 @@
+package in.agampal.dishdashapi.repository;
+
+import in.agampal.dishdashapi.config.IndexManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Needs a running MongoDB: {@code mvn test -Dexplain-checks=true -Dtest=QueryPlanVerifierTest}.
+ */
+@SpringBootTest(properties = "warmup.enabled=false")
+@EnabledIfSystemProperty(named = "explain-checks", matches = "true")
+class QueryPlanVerifierTest {
+
+    @Autowired
+    private IndexManager indexManager;
+    @Autowired
+    private ListableBeanFactory beanFactory;
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() {
+        assertThat(indexManager.reconcile().failed()).isEmpty();
+
+        assertThat(new QueryPlanVerifier(beanFactory, mongoTemplate).findCollectionScans()).isEmpty();
+    }
+}
@@ -0,0 +1,35 @@
+package in.agampal.dishdashapi.repository.memory;
+
+import in.agampal.dishdashapi.entity.CartEntity;
+import in.agampal.dishdashapi.repository.CartRespository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Optional;
+
+@Repository
+@Profile("perf")
+public class InMemoryCartRepository extends InMemoryRepository<CartEntity> implements CartRespository {
+
+    private final Index<String> byUserId = index(CartEntity::getUserId);
+
+    public InMemoryCartRepository() {
+        super(CartEntity::getId, CartEntity::setId);
+    }
+
+    @Override
+    public Optional<CartEntity> findByUserId(String userId) {
+        return byUserId.find(userId).stream().findFirst();
+    }
+
+    @Override
+    public void deleteByUserId(String userId) {
+        deleteAll(byUserId.find(userId));
+    }
+
+    @Override
+    public void deleteByUserIdIn(Collection<String> userIds) {
+        deleteAll(byUserId.findAll(userIds));
+    }
+}
@@ -0,0 +1,15 @@
+package in.agampal.dishdashapi.repository.memory;
+
+import in.agampal.dishdashapi.entity.FoodEntity;
+import in.agampal.dishdashapi.repository.FoodRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@Profile("perf")
+public class InMemoryFoodRepository extends InMemoryRepository<FoodEntity> implements FoodRepository {
+
+    public InMemoryFoodRepository() {
+        super(FoodEntity::getId, FoodEntity::setId);
+    }
+}
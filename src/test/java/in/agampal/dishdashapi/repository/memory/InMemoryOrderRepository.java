@@ -0,0 +1,156 @@
+package in.agampal.dishdashapi.repository.memory;
+
+import in.agampal.dishdashapi.entity.OrderEntity;
+import in.agampal.dishdashapi.entity.OrderStatus;
+import in.agampal.dishdashapi.entity.PaymentVerificationEntity;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.repository.OrderRepository;
+import in.agampal.dishdashapi.util.OrderCursor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Keeps a skip list in the feed order ({@code createdAt desc, id desc}) so keyset pages cost the same as
+ * the compound indexes make them cost in Mongo. Conditional updates run inside {@code computeIfPresent}
+ * so they are atomic per order, like {@code findAndModify}.
+ */
+@Repository
+@Profile("perf")
+public class InMemoryOrderRepository extends InMemoryRepository<OrderEntity> implements OrderRepository {
+
+    private record FeedKey(Instant createdAt, String id) {
+    }
+
+    // Mongo sorts a missing createdAt below every date, so those orders come last in a descending feed
+    private static final Comparator<FeedKey> FEED_ORDER = Comparator
+            .comparing(FeedKey::createdAt, Comparator.nullsFirst(Comparator.<Instant>naturalOrder()))
+            .thenComparing(FeedKey::id)
+            .reversed();
+
+    private final Index<String> byUserId = index(OrderEntity::getUserId);
+    private final Index<String> byRazorpayOrderId = index(OrderEntity::getRazorpayOrderId);
+    private final NavigableMap<FeedKey, String> feed = new ConcurrentSkipListMap<>(FEED_ORDER);
+    private final Map<String, FeedKey> feedKeys = new ConcurrentHashMap<>();
+
+    public InMemoryOrderRepository() {
+        super(OrderEntity::getId, OrderEntity::setId);
+    }
+
+    @Override
+    protected void onSaved(String id, OrderEntity order) {
+        FeedKey key = new FeedKey(order.getCreatedAt(), id);
+        FeedKey previous = feedKeys.put(id, key);
+        if (previous != null && !previous.equals(key)) {
+            feed.remove(previous);
+        }
+        feed.put(key, id);
+    }
+
+    @Override
+    protected void onRemoved(String id, OrderEntity order) {
+        FeedKey previous = feedKeys.remove(id);
+        if (previous != null) {
+            feed.remove(previous);
+        }
+    }
+
+    @Override
+    public List<OrderEntity> findByUserId(String userId) {
+        return byUserId.find(userId);
+    }
+
+    @Override
+    public Optional<OrderEntity> findByRazorpayOrderId(String razorpayOrderId) {
+        return byRazorpayOrderId.find(razorpayOrderId).stream().findFirst();
+    }
+
+    @Override
+    public List<OrderEntity> findByRazorpayOrderIdIn(Collection<String> razorpayOrderIds) {
+        return byRazorpayOrderId.findAll(razorpayOrderIds);
+    }
+
+    @Override
+    public List<OrderEntity> findFeedPage(OrderFeedFilter filter, OrderCursor after, int limit) {
+        FeedKey start = after == null ? null : new FeedKey(after.createdAt(), after.id());
+        Collection<String> candidates;
+        if (filter.getUserId() != null) {
+            // Same shape as the userId_createdAt_id index: the user's orders only, already in feed order
+            NavigableMap<FeedKey, String> userFeed = new TreeMap<>(FEED_ORDER);
+            byUserId.find(filter.getUserId()).forEach(order -> userFeed.put(new FeedKey(order.getCreatedAt(), order.getId()), order.getId()));
+            candidates = (start == null ? userFeed : userFeed.tailMap(start, false)).values();
+        } else {
+            candidates = (start == null ? feed : feed.tailMap(start, false)).values();
+        }
+
+        List<OrderEntity> page = new ArrayList<>(Math.min(limit, 64));
+        for (String id : candidates) {
+            OrderEntity order = store.get(id);
+            if (order != null && matches(order, filter)) {
+                page.add(order);
+                if (page.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    @Override
+    public Optional<OrderEntity> transitionStatus(String orderId, OrderStatus target) {
+        AtomicReference<OrderEntity> updated = new AtomicReference<>();
+        store.computeIfPresent(orderId, (id, order) -> {
+            if (target.canBeReachedFrom(order.getOrderStatus())) {
+                order.setOrderStatus(target.getLabel());
+                updated.set(order);
+            }
+            return order;
+        });
+        return Optional.ofNullable(updated.get());
+    }
+
+    @Override
+    public int transitionStatuses(Map<String, OrderStatus> targets) {
+        int applied = 0;
+        for (Map.Entry<String, OrderStatus> entry : targets.entrySet()) {
+            applied += transitionStatus(entry.getKey(), entry.getValue()).isPresent() ? 1 : 0;
+        }
+        return applied;
+    }
+
+    @Override
+    public int applyPayments(Collection<PaymentVerificationEntity> payments, String paymentStatus) {
+        int matched = 0;
+        for (PaymentVerificationEntity payment : payments) {
+            for (OrderEntity candidate : byRazorpayOrderId.find(payment.getRazorpayOrderId())) {
+                store.computeIfPresent(candidate.getId(), (id, order) -> {
+                    order.setPaymentStatus(paymentStatus);
+                    order.setRazorpaySignature(payment.getRazorpaySignature());
+                    order.setRazorpayPaymentId(payment.getRazorpayPaymentId());
+                    return order;
+                });
+                matched++;
+            }
+        }
+        return matched;
+    }
+
+    private static boolean matches(OrderEntity order, OrderFeedFilter filter) {
+        return (filter.getOrderStatus() == null || filter.getOrderStatus().equals(order.getOrderStatus()))
+                && (filter.getPaymentStatus() == null || filter.getPaymentStatus().equals(order.getPaymentStatus()))
+                && (filter.getFrom() == null || (order.getCreatedAt() != null && !order.getCreatedAt().isBefore(filter.getFrom())))
+                && (filter.getTo() == null || (order.getCreatedAt() != null && order.getCreatedAt().isBefore(filter.getTo())));
+    }
+}
@@ -0,0 +1,29 @@
+package in.agampal.dishdashapi.repository.memory;
+
+import in.agampal.dishdashapi.entity.PaymentVerificationEntity;
+import in.agampal.dishdashapi.repository.PaymentVerificationRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+@Profile("perf")
+public class InMemoryPaymentVerificationRepository extends InMemoryRepository<PaymentVerificationEntity>
+        implements PaymentVerificationRepository {
+
+    public InMemoryPaymentVerificationRepository() {
+        super(PaymentVerificationEntity::getId, PaymentVerificationEntity::setId);
+    }
+
+    @Override
+    public List<PaymentVerificationEntity> findByReceivedAtBeforeOrderByReceivedAtAsc(Instant before, Pageable pageable) {
+        return findAll(Sort.by(Sort.Direction.ASC, "receivedAt")).stream()
+                .filter(verification -> verification.getReceivedAt().isBefore(before))
+                .limit(pageable.getPageSize())
+                .toList();
+    }
+}
@@ -0,0 +1,261 @@
+package in.agampal.dishdashapi.repository.memory;
+
+import org.bson.types.ObjectId;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.repository.query.FluentQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Concurrent in-memory {@link MongoRepository} for the perf profile. Entities are stored by reference,
+ * ids are generated as ObjectId strings like Mongo would, and subclasses declare secondary indexes for
+ * their derived query methods so lookups stay O(1) at load-test volumes. Query-by-example is not supported.
+ */
+public abstract class InMemoryRepository<T> implements MongoRepository<T, String> {
+
+    /**
+     * Multi-valued secondary index from a field value to the ids holding it. Keeps the last indexed key per
+     * id so re-saving a mutated instance moves it to the right bucket.
+     */
+    protected final class Index<K> {
+        private final Function<T, K> keyOf;
+        private final Map<K, Set<String>> ids = new ConcurrentHashMap<>();
+        private final Map<String, K> keys = new ConcurrentHashMap<>();
+
+        private Index(Function<T, K> keyOf) {
+            this.keyOf = keyOf;
+        }
+
+        public List<T> find(K key) {
+            Set<String> matches = key == null ? null : ids.get(key);
+            if (matches == null) {
+                return List.of();
+            }
+            return matches.stream().map(store::get).filter(java.util.Objects::nonNull).collect(Collectors.toList());
+        }
+
+        public List<T> findAll(Collection<K> keys) {
+            return keys.stream().flatMap(key -> find(key).stream()).collect(Collectors.toList());
+        }
+
+        private void update(String id, T entity) {
+            K key = keyOf.apply(entity);
+            K previous = key == null ? keys.remove(id) : keys.put(id, key);
+            if (previous != null && !previous.equals(key)) {
+                ids.computeIfPresent(previous, (k, set) -> set.remove(id) && set.isEmpty() ? null : set);
+            }
+            if (key != null) {
+                ids.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+
+        private void remove(String id) {
+            K previous = keys.remove(id);
+            if (previous != null) {
+                ids.computeIfPresent(previous, (k, set) -> set.remove(id) && set.isEmpty() ? null : set);
+            }
+        }
+    }
+
+    protected final Map<String, T> store = new ConcurrentHashMap<>();
+    private final Function<T, String> idOf;
+    private final BiConsumer<T, String> setId;
+    private final List<Index<?>> indexes = new ArrayList<>();
+
+    protected InMemoryRepository(Function<T, String> idOf, BiConsumer<T, String> setId) {
+        this.idOf = idOf;
+        this.setId = setId;
+    }
+
+    protected <K> Index<K> index(Function<T, K> keyOf) {
+        Index<K> index = new Index<>(keyOf);
+        indexes.add(index);
+        return index;
+    }
+
+    /**
+     * Hook for subclasses that keep extra structures (e.g. a sorted feed) in step with the store.
+     */
+    protected void onSaved(String id, T entity) {
+    }
+
+    protected void onRemoved(String id, T entity) {
+    }
+
+    @Override
+    public <S extends T> S save(S entity) {
+        String id = idOf.apply(entity);
+        if (id == null) {
+            id = new ObjectId().toHexString();
+            setId.accept(entity, id);
+        }
+        store.put(id, entity);
+        for (Index<?> index : indexes) {
+            index.update(id, entity);
+        }
+        onSaved(id, entity);
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities) {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public <S extends T> S insert(S entity) {
+        return save(entity);
+    }
+
+    @Override
+    public <S extends T> List<S> insert(Iterable<S> entities) {
+        return saveAll(entities);
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        return Optional.ofNullable(id == null ? null : store.get(id));
+    }
+
+    @Override
+    public boolean existsById(String id) {
+        return id != null && store.containsKey(id);
+    }
+
+    @Override
+    public List<T> findAll() {
+        return new ArrayList<>(store.values());
+    }
+
+    @Override
+    public List<T> findAllById(Iterable<String> ids) {
+        return StreamSupport.stream(ids.spliterator(), false)
+                .map(store::get)
+                .filter(java.util.Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<T> findAll(Sort sort) {
+        List<T> all = findAll();
+        all.sort(comparator(sort));
+        return all;
+    }
+
+    @Override
+    public Page<T> findAll(Pageable pageable) {
+        List<T> all = findAll(pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(all);
+        }
+        int from = (int) Math.min(pageable.getOffset(), all.size());
+        int to = Math.min(from + pageable.getPageSize(), all.size());
+        return new PageImpl<>(all.subList(from, to), pageable, all.size());
+    }
+
+    @Override
+    public long count() {
+        return store.size();
+    }
+
+    @Override
+    public void deleteById(String id) {
+        T removed = store.remove(id);
+        if (removed != null) {
+            for (Index<?> index : indexes) {
+                index.remove(id);
+            }
+            onRemoved(id, removed);
+        }
+    }
+
+    @Override
+    public void delete(T entity) {
+        deleteById(idOf.apply(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends String> ids) {
+        ids.forEach(this::deleteById);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities) {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll() {
+        new ArrayList<>(store.keySet()).forEach(this::deleteById);
+    }
+
+    @Override
+    public <S extends T> Optional<S> findOne(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> List<S> findAll(Example<S> example, Sort sort) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> Page<S> findAll(Example<S> example, Pageable pageable) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> long count(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T> boolean exists(Example<S> example) {
+        throw unsupported();
+    }
+
+    @Override
+    public <S extends T, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+        throw unsupported();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Comparator<T> comparator(Sort sort) {
+        Comparator<T> comparator = (a, b) -> 0;
+        for (Sort.Order order : sort) {
+            Comparator<T> byProperty = Comparator.comparing(
+                    entity -> (Comparable) new BeanWrapperImpl(entity).getPropertyValue(order.getProperty()),
+                    Comparator.nullsFirst(Comparator.naturalOrder()));
+            comparator = comparator.thenComparing(order.isAscending() ? byProperty : byProperty.reversed());
+        }
+        return comparator;
+    }
+
+    private static UnsupportedOperationException unsupported() {
+        return new UnsupportedOperationException("Query by example is not supported by the in-memory repositories");
+    }
+}
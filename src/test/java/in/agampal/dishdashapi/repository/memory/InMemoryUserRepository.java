@@ -0,0 +1,24 @@
+package in.agampal.dishdashapi.repository.memory;
+
+import in.agampal.dishdashapi.entity.UserEntity;
+import in.agampal.dishdashapi.repository.UserRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+@Profile("perf")
+public class InMemoryUserRepository extends InMemoryRepository<UserEntity> implements UserRepository {
+
+    private final Index<String> byEmail = index(UserEntity::getEmail);
+
+    public InMemoryUserRepository() {
+        super(UserEntity::getId, UserEntity::setId);
+    }
+
+    @Override
+    public Optional<UserEntity> findByEmail(String email) {
+        return byEmail.find(email).stream().findFirst();
+    }
+}
@@ -0,0 +1,247 @@
+package in.agampal.dishdashapi.service;
+
+import in.agampal.dishdashapi.entity.OrderEntity;
+import in.agampal.dishdashapi.entity.PaymentVerificationEntity;
+import in.agampal.dishdashapi.exception.BusinessException;
+import in.agampal.dishdashapi.exception.ResourceNotFoundException;
+import in.agampal.dishdashapi.io.BulkStatusUpdateResponse;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.io.OrderPageResponse;
+import in.agampal.dishdashapi.io.OrderRequest;
+import in.agampal.dishdashapi.io.OrderResponse;
+import in.agampal.dishdashapi.io.OrderStatusEvent;
+import in.agampal.dishdashapi.io.OrderStatusUpdate;
+import in.agampal.dishdashapi.repository.memory.InMemoryCartRepository;
+import in.agampal.dishdashapi.repository.memory.InMemoryOrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderServiceImplTest {
+
+    private final InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager("orders");
+    private final List<Object> events = new ArrayList<>();
+    private final OrderServiceImpl service = new OrderServiceImpl();
+
+    @BeforeEach
+    void setUp() {
+        UserService userService = mock(UserService.class);
+        when(userService.findByUserId()).thenReturn("user-1");
+        ReflectionTestUtils.setField(service, "orderRepository", orderRepository);
+        ReflectionTestUtils.setField(service, "userService", userService);
+        ReflectionTestUtils.setField(service, "cartRespository", new InMemoryCartRepository());
+        ReflectionTestUtils.setField(service, "cacheManager", cacheManager);
+        ReflectionTestUtils.setField(service, "eventPublisher", (ApplicationEventPublisher) events::add);
+        ReflectionTestUtils.setField(service, "paymentGateway", (PaymentGateway) (amount, currency) -> "order_" + amount);
+    }
+
+    @Test
+    void movesAnOrderAlongItsLifecycleAndPublishesTheChange() {
+        String id = order("Food Preparing");
+
+        assertThat(service.updateOrderStatus(id, "out for delivery").getOrderStatus()).isEqualTo("Out for delivery");
+        assertThat(service.updateOrderStatus(id, "DELIVERED").getOrderStatus()).isEqualTo("Delivered");
+        assertThat(events).hasSize(2).last()
+                .satisfies(event -> assertThat(((OrderStatusEvent) event).getOrderStatus()).isEqualTo("Delivered"));
+    }
+
+    @Test
+    void rejectsAnIllegalTransitionWithAConflict() {
+        String id = order("Delivered");
+
+        assertThatThrownBy(() -> service.updateOrderStatus(id, "Cancelled"))
+                .isInstanceOf(BusinessException.class)
+                .satisfies(ex -> assertThat(((BusinessException) ex).getStatusCode()).isEqualTo(HttpStatus.CONFLICT))
+                .hasMessageContaining("from Delivered to Cancelled");
+        assertThat(orderRepository.findById(id)).get().extracting(OrderEntity::getOrderStatus).isEqualTo("Delivered");
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void rejectsUnknownTargetsAndMissingOrders() {
+        String id = order("Food Preparing");
+
+        assertThatThrownBy(() -> service.updateOrderStatus(id, "Shipped"))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Unknown order status");
+        assertThatThrownBy(() -> service.updateOrderStatus("64b000000000000000000000", "Cancelled"))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void movesOrdersWithAnUnknownLegacyStatusOnAsIfTheyWereNew() {
+        String id = order("Order placed");
+
+        assertThatThrownBy(() -> service.updateOrderStatus(id, "Delivered")).isInstanceOf(BusinessException.class);
+        assertThat(service.updateOrderStatus(id, "Out for delivery").getOrderStatus()).isEqualTo("Out for delivery");
+    }
+
+    @Test
+    void bulkUpdateAppliesLegalTransitionsAndReportsTheRest() {
+        String preparing = order("Food Preparing");
+        String legacy = order("Order placed");
+        String delivered = order("Delivered");
+
+        BulkStatusUpdateResponse response = service.updateOrderStatuses(List.of(
+                new OrderStatusUpdate(preparing, "Out for delivery"),
+                new OrderStatusUpdate(legacy, "Cancelled"),
+                new OrderStatusUpdate(delivered, "Cancelled"),
+                new OrderStatusUpdate("64b000000000000000000000", "Cancelled")));
+
+        assertThat(response.getRequested()).isEqualTo(4);
+        assertThat(response.getApplied()).isEqualTo(2);
+        assertThat(response.getRejectedOrderIds()).containsExactly(delivered, "64b000000000000000000000");
+        assertThat(events).hasSize(2);
+    }
+
+    @Test
+    void pagesThroughOrdersThatShareACreatedAtWithoutSkippingOrRepeating() {
+        List<String> ids = IntStream.range(0, 5).mapToObj(i -> order("Food Preparing")).toList();
+
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            OrderPageResponse page = service.getUserOrders(cursor, 2);
+            page.getOrders().forEach(order -> seen.add(order.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactlyElementsOf(ids.stream().sorted(Comparator.reverseOrder()).toList());
+    }
+
+    @Test
+    void capsThePageSizeAtOneHundred() {
+        for (int i = 0; i < 101; i++) {
+            order("Food Preparing");
+        }
+
+        OrderPageResponse page = service.getUserOrders(null, 500);
+
+        assertThat(page.getOrders()).hasSize(100);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(service.getUserOrders(page.getNextCursor(), 500).getOrders()).hasSize(1);
+    }
+
+    @Test
+    void appliesTheAdminFeedFiltersAfterTheCursor() {
+        List<String> delivered = IntStream.range(0, 3).mapToObj(i -> order("Delivered")).toList();
+        order("Food Preparing");
+        OrderFeedFilter filter = OrderFeedFilter.builder().orderStatus("Delivered").build();
+
+        OrderPageResponse first = service.getOrdersOfAllUsers(filter, null, 2);
+        OrderPageResponse second = service.getOrdersOfAllUsers(filter, first.getNextCursor(), 2);
+
+        assertThat(first.getOrders()).hasSize(2);
+        assertThat(second.getOrders()).singleElement().satisfies(order -> {
+            assertThat(order.getOrderStatus()).isEqualTo("Delivered");
+            assertThat(order.getId()).isEqualTo(delivered.stream().min(Comparator.naturalOrder()).orElseThrow());
+        });
+        assertThat(second.isHasMore()).isFalse();
+    }
+
+    @Test
+    void rejectsATamperedCursor() {
+        assertThatThrownBy(() -> service.getUserOrders("dGFtcGVyZWQ", 20))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    void cachesOnlyTheDefaultSizedFirstPage() {
+        order("Food Preparing");
+        order("Food Preparing");
+
+        service.getUserOrders(null, 1);
+        assertThat(cachedFirstPage()).isNull();
+
+        service.getUserOrders("", OrderServiceImpl.DEFAULT_PAGE_SIZE);
+        assertThat(cachedFirstPage()).isNotNull();
+
+        cacheManager.getCache("orders").clear();
+        service.getUserOrders(service.getUserOrders(null, 1).getNextCursor(), OrderServiceImpl.DEFAULT_PAGE_SIZE);
+        assertThat(cachedFirstPage()).isNull();
+    }
+
+    @Test
+    void creatingAnOrderEvictsTheCachedFirstPage() throws Exception {
+        order("Food Preparing");
+        firstPage();
+
+        OrderResponse created = service.createOrderWithPayment(OrderRequest.builder().amount(250).build());
+
+        assertThat(cachedFirstPage()).isNull();
+        assertThat(firstPage().getOrders()).hasSize(2).first().extracting(OrderResponse::getId).isEqualTo(created.getId());
+    }
+
+    @Test
+    void applyingAPaymentEvictsTheCachedFirstPage() {
+        String id = orderRepository.save(OrderEntity.builder().userId("user-1").orderStatus("Food Preparing")
+                .razorpayOrderId("order_1").createdAt(Instant.parse("2026-01-01T00:00:00Z")).build()).getId();
+        firstPage();
+
+        service.applyVerifiedPayments(List.of(PaymentVerificationEntity.builder().razorpayOrderId("order_1")
+                .razorpayPaymentId("pay_1").razorpaySignature("signature").build()), "paid");
+
+        assertThat(cachedFirstPage()).isNull();
+        assertThat(firstPage().getOrders()).singleElement().satisfies(order -> {
+            assertThat(order.getId()).isEqualTo(id);
+            assertThat(order.getPaymentStatus()).isEqualTo("paid");
+        });
+    }
+
+    @Test
+    void changingAStatusEvictsTheCachedFirstPage() {
+        String id = order("Food Preparing");
+        String other = order("Food Preparing");
+        firstPage();
+
+        service.updateOrderStatus(id, "Out for delivery");
+        assertThat(cachedFirstPage()).isNull();
+        firstPage();
+        service.updateOrderStatuses(List.of(new OrderStatusUpdate(other, "Cancelled")));
+        assertThat(cachedFirstPage()).isNull();
+
+        assertThat(firstPage().getOrders()).extracting(OrderResponse::getOrderStatus)
+                .containsExactlyInAnyOrder("Out for delivery", "Cancelled");
+    }
+
+    @Test
+    void removingAnOrderEvictsTheCachedFirstPage() {
+        String id = order("Food Preparing");
+        firstPage();
+
+        service.removeOrder(id);
+
+        assertThat(cachedFirstPage()).isNull();
+        assertThat(firstPage().getOrders()).isEmpty();
+    }
+
+    private OrderPageResponse firstPage() {
+        return service.getUserOrders(null, OrderServiceImpl.DEFAULT_PAGE_SIZE);
+    }
+
+    private Cache.ValueWrapper cachedFirstPage() {
+        return cacheManager.getCache("orders").get("user-1");
+    }
+
+    private String order(String status) {
+        return orderRepository.save(OrderEntity.builder().userId("user-1").orderStatus(status)
+                .createdAt(Instant.parse("2026-01-01T00:00:00Z")).build()).getId();
+    }
+}
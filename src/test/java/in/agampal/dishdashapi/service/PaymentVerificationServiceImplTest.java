@@ -0,0 +1,113 @@
+package in.agampal.dishdashapi.service;
+
+import in.agampal.dishdashapi.entity.PaymentVerificationEntity;
+import in.agampal.dishdashapi.repository.memory.InMemoryPaymentVerificationRepository;
+import in.agampal.dishdashapi.util.ExecutorFactory;
+import in.agampal.dishdashapi.util.PaymentSignatureVerifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PaymentVerificationServiceImplTest {
+
+    private static final String SECRET = "test-razorpay-secret";
+
+    private final OrderService orderService = mock(OrderService.class);
+    private volatile boolean databaseDown;
+    private final InMemoryPaymentVerificationRepository repository = new InMemoryPaymentVerificationRepository() {
+        @Override
+        public List<PaymentVerificationEntity> findByReceivedAtBeforeOrderByReceivedAtAsc(Instant before, Pageable pageable) {
+            if (databaseDown) {
+                throw new IllegalStateException("Timed out waiting for a server");
+            }
+            return super.findByReceivedAtBeforeOrderByReceivedAtAsc(before, pageable);
+        }
+    };
+    // A retry interval of 0 makes every unqueued record stale at once
+    private final PaymentVerificationServiceImpl service = new PaymentVerificationServiceImpl(repository,
+            new PaymentSignatureVerifier(SECRET), orderService, new SimpleMeterRegistry(), new ExecutorFactory(false),
+            100, 1, 10, 0);
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        service.stop();
+    }
+
+    @Test
+    void startsTheWorkersEvenIfPendingRecordsCannotBeRead() throws Exception {
+        databaseDown = true;
+        service.start();
+
+        service.submit(callback("order_1", "pay_1"));
+
+        verify(orderService, timeout(5_000)).applyVerifiedPayments(anyList(), eq("Paid"));
+        await(() -> repository.count() == 0);
+    }
+
+    @Test
+    void requeuesPendingRecordsAtStartup() throws Exception {
+        repository.save(PaymentVerificationEntity.builder().razorpayOrderId("order_1").razorpayPaymentId("pay_1")
+                .razorpaySignature(sign("order_1|pay_1")).receivedAt(Instant.now().minusSeconds(60)).build());
+
+        service.start();
+
+        verify(orderService, timeout(5_000)).applyVerifiedPayments(anyList(), eq("Paid"));
+        await(() -> repository.count() == 0);
+    }
+
+    @Test
+    void retriesABatchThatFailed() throws Exception {
+        when(orderService.applyVerifiedPayments(anyList(), eq("Paid")))
+                .thenThrow(new IllegalStateException("Write concern timeout"))
+                .thenReturn(0);
+        service.start();
+        service.submit(callback("order_1", "pay_1"));
+        verify(orderService, timeout(5_000)).applyVerifiedPayments(anyList(), eq("Paid"));
+        assertThat(repository.count()).isEqualTo(1);
+
+        // The failed batch may still be finishing; the sweep skips records it still holds
+        await(() -> {
+            service.requeueStale();
+            return repository.count() == 0;
+        });
+        verify(orderService, timeout(5_000).times(2)).applyVerifiedPayments(anyList(), eq("Paid"));
+    }
+
+    private static Map<String, String> callback(String orderId, String paymentId) throws Exception {
+        return Map.of("razorpay_order_id", orderId, "razorpay_payment_id", paymentId,
+                "razorpay_signature", sign(orderId + "|" + paymentId));
+    }
+
+    private static String sign(String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met within 5 s").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
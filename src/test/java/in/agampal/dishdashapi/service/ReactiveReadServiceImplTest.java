@@ -0,0 +1,95 @@
+package in.agampal.dishdashapi.service;
+
+import in.agampal.dishdashapi.entity.FoodEntity;
+import in.agampal.dishdashapi.entity.OrderEntity;
+import in.agampal.dishdashapi.entity.UserEntity;
+import in.agampal.dishdashapi.io.FoodResponse;
+import in.agampal.dishdashapi.io.OrderFeedFilter;
+import in.agampal.dishdashapi.io.OrderResponse;
+import in.agampal.dishdashapi.repository.ReactiveFoodRepository;
+import in.agampal.dishdashapi.repository.ReactiveOrderRepository;
+import in.agampal.dishdashapi.repository.ReactiveUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveReadServiceImplTest {
+
+    private static final int MAX_STREAM_SIZE = 25;
+
+    private final ReactiveFoodRepository foodRepository = mock(ReactiveFoodRepository.class);
+    private final ReactiveOrderRepository orderRepository = mock(ReactiveOrderRepository.class);
+    private final ReactiveUserRepository userRepository = mock(ReactiveUserRepository.class);
+    private final List<OrderEntity> orders = IntStream.range(0, 100)
+            .mapToObj(i -> OrderEntity.builder().id("order-" + i).userId("user-1")
+                    .createdAt(Instant.parse("2026-01-01T00:00:00Z").minusSeconds(i)).build())
+            .toList();
+    private ReactiveReadServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        // Honours the limit like the Mongo query does
+        when(orderRepository.streamFeed(any(), any(), anyInt()))
+                .thenAnswer(invocation -> Flux.fromIterable(orders).take(invocation.<Integer>getArgument(2)));
+        service = new ReactiveReadServiceImpl(foodRepository, orderRepository, userRepository,
+                () -> new UsernamePasswordAuthenticationToken("user-1@example.com", null), MAX_STREAM_SIZE);
+    }
+
+    @Test
+    void streamsFoodsInTheOrderTheDriverReturnsThem() {
+        // Three driver batches with a pause between them; each row is emitted as soon as its batch arrives
+        when(foodRepository.findAll()).thenReturn(Flux.concat(
+                foods(0, 3), foods(3, 6).delaySubscription(Duration.ofMillis(20)), foods(6, 9).delaySubscription(Duration.ofMillis(20))));
+
+        StepVerifier.create(service.readFoods().map(FoodResponse::getId), 1)
+                .expectNext("food-0")
+                .thenRequest(4)
+                .expectNext("food-1", "food-2", "food-3", "food-4")
+                .thenRequest(Long.MAX_VALUE)
+                .expectNext("food-5", "food-6", "food-7", "food-8")
+                .verifyComplete();
+    }
+
+    @Test
+    void capsOrderStreamsAtTheMaxStreamSize() {
+        StepVerifier.create(service.readOrdersOfAllUsers(OrderFeedFilter.builder().build(), null, 10_000))
+                .expectNextCount(MAX_STREAM_SIZE)
+                .verifyComplete();
+        verify(orderRepository).streamFeed(any(), isNull(), eq(MAX_STREAM_SIZE));
+
+        StepVerifier.create(service.readOrdersOfAllUsers(OrderFeedFilter.builder().build(), null, 0))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    @Test
+    void streamsTheCurrentUsersOrdersNewestFirst() {
+        when(userRepository.findByEmail("user-1@example.com"))
+                .thenReturn(Mono.just(UserEntity.builder().id("user-1").email("user-1@example.com").build()));
+
+        StepVerifier.create(service.readUserOrders(null, 3).map(OrderResponse::getId))
+                .expectNext("order-0", "order-1", "order-2")
+                .verifyComplete();
+        verify(orderRepository).streamFeed(eq(OrderFeedFilter.builder().userId("user-1").build()), isNull(), eq(3));
+    }
+
+    private static Flux<FoodEntity> foods(int from, int to) {
+        return Flux.range(from, to - from).map(i -> FoodEntity.builder().id("food-" + i).name("Dish " + i).build());
+    }
+}
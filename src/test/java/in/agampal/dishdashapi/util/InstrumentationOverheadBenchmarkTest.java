@@ -0,0 +1,167 @@
+package in.agampal.dishdashapi.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.agampal.dishdashapi.io.FoodResponse;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsProperties;
+import org.springframework.boot.actuate.autoconfigure.metrics.PropertiesMeterFilter;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares a request-sized unit of work (serializing a menu page) done directly and through each instrumented
+ * path the app uses: the {@code http.server.requests} observation of {@link ServerHttpObservationFilter}, the
+ * {@code @Timed("service.method")} proxy from {@link TimedAspect} and the {@code external.call} timer of
+ * {@link ExternalCallMetrics}. The registry gets the histogram and SLO buckets of application.properties through
+ * Spring Boot's own {@link PropertiesMeterFilter}. Each layer may add at most 1% of its meter's smallest SLO bucket
+ * per call, which leaves room for noisy build machines; the measured numbers are in the assertion messages.
+ */
+class InstrumentationOverheadBenchmarkTest {
+
+    private static final int ROUNDS = 40;
+    private static final int ITERATIONS = 2_000;
+
+    private final MenuSerializer plain = new MenuSerializer();
+    private final MockServletContext servletContext = new MockServletContext();
+    private MetricsProperties properties;
+    private PrometheusMeterRegistry registry;
+    private long sink;
+    private int written;
+
+    // Annotated like the service classes
+    @Timed("service.method")
+    public static class MenuSerializer {
+        private final ObjectMapper objectMapper = new ObjectMapper();
+        private final List<FoodResponse> menu = IntStream.range(0, 20)
+                .mapToObj(i -> FoodResponse.builder().id("food-" + i).name("Dish " + i)
+                        .description("A reasonably long description for dish number " + i)
+                        .imageUrl("https://bucket.s3.amazonaws.com/" + i + ".png").price(99.5 + i).category("Mains").build())
+                .toList();
+
+        public int serialize() throws IOException {
+            return objectMapper.writeValueAsBytes(menu).length;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Work {
+        int run() throws Exception;
+    }
+
+    private record Result(long plainNanos, long instrumentedNanos) {
+        double addedNanosPerCall() {
+            return (double) (instrumentedNanos - plainNanos) / ITERATIONS;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("plain=%d ns/op instrumented=%d ns/op", plainNanos / ITERATIONS, instrumentedNanos / ITERATIONS);
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new Binder(new MapConfigurationPropertySource(
+                PropertiesLoaderUtils.loadProperties(new ClassPathResource("application.properties"))))
+                .bindOrCreate("management.metrics", MetricsProperties.class);
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        registry.config().meterFilter(new PropertiesMeterFilter(properties));
+    }
+
+    @Test
+    void httpServerRequestsObservationOverheadStaysSmall() throws Exception {
+        ObservationRegistry observations = ObservationRegistry.create();
+        observations.observationConfig().observationHandler(new DefaultMeterObservationHandler(registry));
+        ServerHttpObservationFilter filter = new ServerHttpObservationFilter(observations);
+        FilterChain chain = (request, response) -> {
+            // What MVC does once a handler matched
+            ServerHttpObservationFilter.findObservationContext((MockHttpServletRequest) request)
+                    .ifPresent(context -> context.setPathPattern("/api/foods"));
+            written = plain.serialize();
+        };
+
+        // Both sides pay for the mock request and response
+        Result result = measure(() -> {
+            chain.doFilter(new MockHttpServletRequest(servletContext, "GET", "/api/foods"), new MockHttpServletResponse());
+            return written;
+        }, () -> {
+            filter.doFilter(new MockHttpServletRequest(servletContext, "GET", "/api/foods"), new MockHttpServletResponse(), chain);
+            return written;
+        });
+
+        assertThat(registry.find("http.server.requests").tag("uri", "/api/foods").timer()).isNotNull();
+        assertThat(result.addedNanosPerCall()).as(result.toString()).isLessThan(budgetNanos("http.server.requests"));
+    }
+
+    @Test
+    void timedServiceMethodOverheadStaysSmall() throws Exception {
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new MenuSerializer());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TimedAspect(registry));
+        MenuSerializer timed = proxyFactory.getProxy();
+
+        Result result = measure(plain::serialize, timed::serialize);
+
+        assertThat(registry.find("service.method").tag("method", "serialize").timer()).isNotNull();
+        assertThat(result.addedNanosPerCall()).as(result.toString()).isLessThan(budgetNanos("service.method"));
+    }
+
+    @Test
+    void externalCallTimerOverheadStaysSmall() throws Exception {
+        ExternalCallMetrics metrics = new ExternalCallMetrics(registry);
+
+        Result result = measure(plain::serialize, () -> metrics.time("s3", "putObject", plain::serialize));
+
+        assertThat(registry.find("external.call").tag("dependency", "s3").timer()).isNotNull();
+        assertThat(result.addedNanosPerCall()).as(result.toString()).isLessThan(budgetNanos("external.call"));
+    }
+
+    private double budgetNanos(String meter) {
+        return Arrays.stream(properties.getDistribution().getSlo().get(meter))
+                .mapToDouble(boundary -> boundary.getValue(Meter.Type.TIMER))
+                .min().orElseThrow() * 0.01;
+    }
+
+    // Best of interleaved rounds, so a GC pause or a noisy neighbour in one round does not decide the result
+    private Result measure(Work plainWork, Work instrumentedWork) throws Exception {
+        long bestPlain = Long.MAX_VALUE;
+        long bestInstrumented = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            bestPlain = Math.min(bestPlain, round(plainWork));
+            bestInstrumented = Math.min(bestInstrumented, round(instrumentedWork));
+        }
+        assertThat(sink).isPositive();
+        return new Result(bestPlain, bestInstrumented);
+    }
+
+    private long round(Work work) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += work.run();
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,51 @@
+package in.agampal.dishdashapi.util;
+
+import in.agampal.dishdashapi.exception.BusinessException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderCursorTest {
+
+    private static final String ID = "64b000000000000000000001";
+
+    @Test
+    void roundTripsThroughAnOpaqueUrlSafeToken() {
+        OrderCursor cursor = new OrderCursor(Instant.parse("2026-01-01T10:15:30.123Z"), ID);
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain(ID, ":", "=", "+", "/");
+        assertThat(OrderCursor.decode(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertInvalid("not base64!");
+        assertInvalid(encode("1767225600000"));
+        assertInvalid(encode("yesterday:" + ID));
+        assertInvalid(encode(""));
+    }
+
+    @Test
+    void rejectsTokensWhoseIdWasTamperedWith() {
+        assertInvalid(encode("1767225600000:" + ID.substring(1)));
+        assertInvalid(encode("1767225600000:{\"$gt\":\"\"}"));
+        assertInvalid(encode("1767225600000:" + ID + ":extra"));
+    }
+
+    private static void assertInvalid(String token) {
+        assertThatThrownBy(() -> OrderCursor.decode(token))
+                .isInstanceOf(BusinessException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
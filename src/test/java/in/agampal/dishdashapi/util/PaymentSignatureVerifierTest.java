@@ -0,0 +1,47 @@
+package in.agampal.dishdashapi.util;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaymentSignatureVerifierTest {
+
+    private static final String SECRET = "test-razorpay-secret";
+
+    private final PaymentSignatureVerifier verifier = new PaymentSignatureVerifier(SECRET);
+
+    @Test
+    void acceptsTheGatewaysSignature() throws Exception {
+        assertThat(verifier.verify("order_1", "pay_1", sign(SECRET, "order_1|pay_1"))).isTrue();
+        assertThat(verifier.verify("order_1", "pay_1", sign(SECRET, "order_1|pay_1").toUpperCase())).isTrue();
+    }
+
+    @Test
+    void rejectsSignaturesForOtherPaymentsOrKeys() throws Exception {
+        String signature = sign(SECRET, "order_1|pay_1");
+
+        assertThat(verifier.verify("order_1", "pay_2", signature)).isFalse();
+        assertThat(verifier.verify("order_2", "pay_1", signature)).isFalse();
+        assertThat(verifier.verify("order_1", "pay_1", sign("another-secret", "order_1|pay_1"))).isFalse();
+        assertThat(verifier.verify("order_1", "pay_1", signature.substring(2))).isFalse();
+    }
+
+    @Test
+    void rejectsMalformedAndMissingValues() {
+        assertThat(verifier.verify("order_1", "pay_1", "not-hex")).isFalse();
+        assertThat(verifier.verify("order_1", "pay_1", "")).isFalse();
+        assertThat(verifier.verify(null, "pay_1", "00")).isFalse();
+        assertThat(verifier.verify("order_1", "pay_1", null)).isFalse();
+    }
+
+    static String sign(String secret, String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+    }
+}
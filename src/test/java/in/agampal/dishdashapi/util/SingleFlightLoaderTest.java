@@ -0,0 +1,89 @@
+package in.agampal.dishdashapi.util;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import in.agampal.dishdashapi.cache.InvalidationTrackingCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightLoaderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlightLoader loader = new SingleFlightLoader(new MockEnvironment(), meterRegistry, new ExecutorFactory(false), 1, 10);
+    private final Cache cache = new ConcurrentMapCache("foods", false);
+
+    @Test
+    void concurrentMissesShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(callers.submit(() -> loader.get(cache, "f1", () -> {
+                    loads.incrementAndGet();
+                    await(release);
+                    return "pizza";
+                })));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<String> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("pizza");
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+        assertThat(meterRegistry.counter("cache.singleflight.coalesced", "cache", "foods").count()).isEqualTo(7);
+        assertThat(cache.get("f1", String.class)).isEqualTo("pizza");
+    }
+
+    @Test
+    void loaderExceptionReachesCallerUnwrapped() {
+        assertThatThrownBy(() -> loader.get(cache, "missing", () -> {
+            throw new IllegalStateException("not found");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("not found");
+        assertThat(cache.get("missing")).isNull();
+    }
+
+    @Test
+    void valueEvictedDuringItsLoadIsReturnedButNotCached() {
+        InvalidationTrackingCache tracking = new InvalidationTrackingCache("orders",
+                Caffeine.newBuilder().maximumSize(100).build(), false);
+
+        String value = loader.get(tracking, "u1", () -> {
+            // A write path evicts the key while the old page is still being read
+            tracking.evict("u1");
+            return "stale page";
+        });
+
+        assertThat(value).isEqualTo("stale page");
+        assertThat(tracking.get("u1")).isNull();
+        assertThat(loader.get(tracking, "u1", () -> "fresh page")).isEqualTo("fresh page");
+        assertThat(tracking.get("u1", String.class)).isEqualTo("fresh page");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}